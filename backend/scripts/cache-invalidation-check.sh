@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Verifies cross-instance cache invalidation: updates one product directly in the
+# database and checks that every running instance received the notification.
+#
+# Start two or more instances against the same database first, e.g.
+#   SERVER_PORT=8080 ./mvnw spring-boot:run
+#   SERVER_PORT=8081 ./mvnw spring-boot:run
+# psql connection settings come from the usual PG* environment variables.
+# Set AUTH_HEADER (e.g. "Authorization: Basic ...") if the actuator endpoints are protected.
+#
+# Usage: scripts/cache-invalidation-check.sh [base-url ...]
+set -euo pipefail
+
+INSTANCES=("$@")
+if [ ${#INSTANCES[@]} -eq 0 ]; then
+    INSTANCES=("http://localhost:8080" "http://localhost:8081")
+fi
+METRIC="entity.cache.invalidations?tag=table:products"
+
+HEADERS=()
+if [[ -n "${AUTH_HEADER:-}" ]]; then
+    HEADERS+=(-H "$AUTH_HEADER")
+fi
+
+count() {
+    local body
+    if ! body=$(curl -sf ${HEADERS[@]+"${HEADERS[@]}"} "$1/actuator/metrics/${METRIC}"); then
+        echo "Could not read ${METRIC} from $1 (set AUTH_HEADER if the actuator requires credentials)" >&2
+        return 1
+    fi
+    grep -o '"value":[0-9.]*' <<< "$body" | head -n 1 | cut -d: -f2
+}
+
+PRODUCT_ID=$(psql -Atc "SELECT id FROM products LIMIT 1")
+if [ -z "$PRODUCT_ID" ]; then
+    echo "No products in the database" >&2
+    exit 1
+fi
+
+declare -A BEFORE
+for url in "${INSTANCES[@]}"; do
+    BEFORE[$url]=$(count "$url")
+done
+
+psql -qc "UPDATE products SET updated_at = now() WHERE id = '${PRODUCT_ID}'"
+sleep 1
+
+status=0
+for url in "${INSTANCES[@]}"; do
+    after=$(count "$url")
+    if awk -v a="$after" -v b="${BEFORE[$url]}" 'BEGIN { exit !(a > b) }'; then
+        echo "OK    $url invalidated product ${PRODUCT_ID}"
+    else
+        echo "FAIL  $url received no invalidation (before ${BEFORE[$url]}, after ${after})"
+        status=1
+    fi
+done
+exit $status
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compares requests/sec of the dynamic catalog (/api/products, hits JPA) against
+# the pre-rendered snapshot (/api/catalog, static files) using wrk.
+#
+# Requires a running backend with a generated snapshot and wrk on the PATH.
+# Both paths are public; set AUTH_HEADER (e.g. "Authorization: Basic ...") only when
+# benchmarking through a proxy that requires credentials.
+#
+# Usage: scripts/catalog-benchmark.sh [base-url] [duration] [connections]
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+DURATION="${2:-30s}"
+CONNECTIONS="${3:-64}"
+THREADS="${THREADS:-4}"
+CATEGORY="${CATEGORY:-}"
+
+HEADERS=(-H "Accept-Encoding: gzip")
+if [[ -n "${AUTH_HEADER:-}" ]]; then
+    HEADERS+=(-H "$AUTH_HEADER")
+fi
+
+run() {
+    local label="$1" path="$2" rps latency
+    curl -sf -o /dev/null "${HEADERS[@]}" "${BASE_URL}${path}" || { printf "%-28s %s\n" "$label" "unreachable"; return; }
+    local output
+    output=$(wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "${HEADERS[@]}" "${BASE_URL}${path}")
+    rps=$(awk '/Requests\/sec/ {print $2}' <<< "$output")
+    latency=$(awk '$1 == "99%" {print $2}' <<< "$output")
+    printf "%-28s %12s req/s   p99 %s\n" "$label" "$rps" "$latency"
+}
+
+echo "wrk: ${THREADS} threads, ${CONNECTIONS} connections, ${DURATION} per endpoint"
+run "dynamic   catalog page 0" "/api/products?page=0"
+run "snapshot  catalog page 0" "/api/catalog?page=0"
+run "dynamic   featured" "/api/products/featured"
+run "snapshot  featured" "/api/catalog/featured"
+run "dynamic   categories" "/api/products/categories"
+run "snapshot  categories" "/api/catalog/categories"
+if [[ -n "$CATEGORY" ]]; then
+    run "dynamic   category page 0" "/api/products?page=0&category=$(jq -rn --arg c "$CATEGORY" '$c|@uri')"
+    run "snapshot  category page 0" "/api/catalog/categories/$(curl -sf "${HEADERS[@]}" --compressed "${BASE_URL}/api/products/categories" \
+        | jq -r --arg c "$CATEGORY" '.[] | select(.name == $c) | .slug')?page=0"
+fi
@@ -0,0 +1,132 @@
+-- Compares the hot order queries on a plain table and on a monthly-partitioned copy
+-- of the same synthetic data set. Everything lives in a scratch "bench" schema.
+--
+-- Usage: psql -d <db> -v orders=5000000 -f backend/scripts/order-partitioning-benchmark.sql
+
+\set ON_ERROR_STOP on
+\if :{?orders}
+\else
+\set orders 1000000
+\endif
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+
+CREATE TABLE bench.orders_plain (
+    id UUID NOT NULL,
+    user_id UUID,
+    guest_email VARCHAR(255),
+    status VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Five years of orders; anything older than a month has reached a final status
+INSERT INTO bench.orders_plain
+SELECT gen_random_uuid(),
+       CASE WHEN random() < 0.8 THEN md5((random() * 50000)::int::text)::uuid END,
+       CASE WHEN random() < 0.2 THEN 'guest' || (random() * 100000)::int || '@example.com' END,
+       CASE WHEN created_at < now() - interval '30 days'
+            THEN (ARRAY['DELIVERED', 'DELIVERED', 'DELIVERED', 'CANCELLED', 'REFUNDED'])[1 + (random() * 4)::int]
+            ELSE (ARRAY['PENDING', 'PAID', 'PROCESSING', 'SHIPPED', 'DELIVERED'])[1 + (random() * 4)::int]
+       END,
+       round((random() * 2000)::numeric, 2),
+       repeat('x', (random() * 200)::int),
+       created_at
+FROM (
+    SELECT now() - random() * interval '1825 days' AS created_at
+    FROM generate_series(1, :orders)
+) generated;
+
+CREATE TABLE bench.orders_partitioned (LIKE bench.orders_plain INCLUDING DEFAULTS)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE bench.orders_partitioned ADD PRIMARY KEY (id, created_at);
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..63 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) - make_interval(months => 60) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE bench.%I PARTITION OF bench.orders_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'orders_partitioned_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + interval '1 month')::date);
+    END LOOP;
+    CREATE TABLE bench.orders_partitioned_default PARTITION OF bench.orders_partitioned DEFAULT;
+END;
+$$;
+
+INSERT INTO bench.orders_partitioned SELECT * FROM bench.orders_plain;
+
+CREATE INDEX ON bench.orders_plain (user_id);
+CREATE INDEX ON bench.orders_plain (guest_email);
+CREATE INDEX ON bench.orders_plain (status);
+CREATE INDEX ON bench.orders_plain (created_at DESC);
+CREATE INDEX ON bench.orders_partitioned (user_id);
+CREATE INDEX ON bench.orders_partitioned (guest_email);
+CREATE INDEX ON bench.orders_partitioned (status);
+CREATE INDEX ON bench.orders_partitioned (created_at DESC);
+
+VACUUM ANALYZE bench.orders_plain;
+VACUUM ANALYZE bench.orders_partitioned;
+
+SELECT user_id AS bench_user FROM bench.orders_plain
+WHERE user_id IS NOT NULL AND created_at > now() - interval '90 days'
+LIMIT 1 \gset
+
+\echo '=== Sizes ==='
+SELECT 'plain' AS layout,
+       pg_size_pretty(pg_table_size('bench.orders_plain')) AS table_size,
+       pg_size_pretty(pg_indexes_size('bench.orders_plain')) AS index_size
+UNION ALL
+SELECT 'partitioned (current month)',
+       pg_size_pretty(pg_table_size(format('bench.orders_partitioned_p%s', to_char(CURRENT_DATE, 'YYYYMM'))::regclass)),
+       pg_size_pretty(pg_indexes_size(format('bench.orders_partitioned_p%s', to_char(CURRENT_DATE, 'YYYYMM'))::regclass));
+
+\echo '=== Customer order history (last 90 days) ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.orders_plain
+WHERE user_id = :'bench_user' AND created_at > now() - interval '90 days'
+ORDER BY created_at DESC LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.orders_partitioned
+WHERE user_id = :'bench_user' AND created_at > now() - interval '90 days'
+ORDER BY created_at DESC LIMIT 20;
+
+\echo '=== Admin list by status (last 30 days) ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.orders_plain
+WHERE status = 'PAID' AND created_at > now() - interval '30 days'
+ORDER BY created_at DESC LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.orders_partitioned
+WHERE status = 'PAID' AND created_at > now() - interval '30 days'
+ORDER BY created_at DESC LIMIT 50;
+
+\echo '=== Orders per day (last 7 days) ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT date_trunc('day', created_at), count(*) FROM bench.orders_plain
+WHERE created_at > now() - interval '7 days' GROUP BY 1;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT date_trunc('day', created_at), count(*) FROM bench.orders_partitioned
+WHERE created_at > now() - interval '7 days' GROUP BY 1;
+
+\echo '=== Maintenance: full-table vacuum vs current partition ==='
+\timing on
+VACUUM (ANALYZE) bench.orders_plain;
+SELECT format('VACUUM (ANALYZE) bench.orders_partitioned_p%s', to_char(CURRENT_DATE, 'YYYYMM')) \gexec
+\timing off
+
+\echo '=== Archival: removing orders older than a year ==='
+\timing on
+DELETE FROM bench.orders_plain WHERE created_at < now() - interval '1 year'
+    AND status IN ('DELIVERED', 'CANCELLED', 'REFUNDED');
+DELETE FROM bench.orders_partitioned WHERE created_at < now() - interval '1 year'
+    AND status IN ('DELIVERED', 'CANCELLED', 'REFUNDED');
+\timing off
+
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Measures time-to-ready and resident memory for each startup mode.
+#
+# Build first with:  ./mvnw clean package -Pfast-startup -DskipTests
+# Requires the database configured via SPRING_DATASOURCE_* to be reachable.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [port]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${2:-8080}"
+URL="http://localhost:${PORT}/actuator/health"
+WORK_DIR="target/startup-benchmark"
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+rm -rf "$WORK_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR" > /dev/null
+cd "$WORK_DIR"
+
+echo "Creating CDS archive..."
+java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=fast-startup \
+    -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    -Dspring.sql.init.mode=never \
+    -jar app.jar > /dev/null
+
+declare -A MODES=(
+    [1-baseline]=""
+    [2-lazy-deferred]="-Dspring.profiles.active=fast-startup"
+    [3-aot]="-Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true"
+    [4-aot-cds]="-Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa"
+)
+
+measure() {
+    local flags="$1"
+    local start pid code elapsed rss
+    start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    java $flags -Dserver.port="$PORT" -jar app.jar > /dev/null 2>&1 &
+    pid=$!
+    while true; do
+        code=$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)
+        # Any HTTP answer (including 401 from security) means the context is up and serving
+        if [ "$code" != "000" ]; then
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "failed" && return
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+printf "%-18s %12s %12s\n" "mode" "ready (ms)" "rss (MB)"
+for mode in $(printf '%s\n' "${!MODES[@]}" | sort); do
+    total_ms=0
+    total_rss=0
+    for _ in $(seq "$RUNS"); do
+        read -r ms rss <<< "$(measure "${MODES[$mode]}")"
+        if [ "$ms" = "failed" ]; then
+            echo "${mode#*-}: application exited before becoming ready" >&2
+            continue 2
+        fi
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-18s %12d %12d\n" "${mode#*-}" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+done
@@ -0,0 +1,105 @@
+package dev.joeis.lombriculturaedenshop.benchmark;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.entity.OrderItem;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total and Stripe amount conversion with {@link Money} versus the previous
+ * {@link BigDecimal} code path. Run with {@code -prof gc} to compare allocation
+ * rates ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"3", "20"})
+    private int lines;
+
+    private Order order;
+    private List<DecimalLine> decimalLines;
+    private Money moneyTotal;
+    private BigDecimal decimalTotal;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        order = new Order();
+        decimalLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(200_000), 2);
+            int quantity = 1 + random.nextInt(5);
+            decimalLines.add(new DecimalLine(price, quantity));
+            order.addItem(OrderItem.builder().price(Money.of(price)).quantity(quantity).build());
+        }
+        moneyTotal = order.calculateTotal();
+        decimalTotal = bigDecimalTotal();
+    }
+
+    @Benchmark
+    public Money moneyOrderTotal() {
+        return order.calculateTotal();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalOrderTotal() {
+        return bigDecimalTotal();
+    }
+
+    @Benchmark
+    public long moneyStripeAmount() {
+        return moneyTotal.toStripeAmount();
+    }
+
+    @Benchmark
+    public long bigDecimalStripeAmount() {
+        return decimalTotal.multiply(ONE_HUNDRED).longValueExact();
+    }
+
+    @Benchmark
+    public long moneyCheckoutAmount() {
+        return order.calculateTotal().toStripeAmount();
+    }
+
+    @Benchmark
+    public long bigDecimalCheckoutAmount() {
+        return bigDecimalTotal().multiply(ONE_HUNDRED).longValueExact();
+    }
+
+    // Same shape as Order#calculateTotal and OrderItem#getSubtotal before Money
+    private BigDecimal bigDecimalTotal() {
+        return decimalLines.stream()
+            .map(DecimalLine::getSubtotal)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private record DecimalLine(BigDecimal price, int quantity) {
+
+        BigDecimal getSubtotal() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.joeis.lombriculturaedenshop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus;
+import dev.joeis.lombriculturaedenshop.application.service.ProductImportService;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ProductBatchWriter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seller bulk import end to end: a generated CSV goes through {@link ProductImportService}
+ * and {@link ProductBatchWriter} into an embedded PostgreSQL set up from db/init.sql and
+ * db/cache-invalidation.sql, as in docker-compose. The score is imported rows per second;
+ * the target is 10k rows/sec. Every invocation imports into a new seller, so all rows are
+ * inserts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ProductImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+
+    static final int ROWS = 100_000;
+
+    private EmbeddedPostgres postgres;
+    private HikariDataSource dataSource;
+    private AnnotationConfigApplicationContext context;
+    private ProductImportService importService;
+    private JdbcTemplate jdbcTemplate;
+    private Path workDirectory;
+    private MockMultipartFile csv;
+    private User seller;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // The embedded server turns synchronous_commit off by default; production keeps it on
+        postgres = EmbeddedPostgres.builder().setServerConfig("synchronous_commit", "on").start();
+        dataSource = new HikariDataSource();
+        dataSource.setDataSource(postgres.getPostgresDatabase(Map.of("reWriteBatchedInserts", "true")));
+        dataSource.setMaximumPoolSize(10);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(script("db/init.sql"));
+        jdbcTemplate.execute(script("db/cache-invalidation.sql"));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+        context.registerBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(dataSource));
+        context.register(TransactionConfig.class);
+        context.registerBean(ProductBatchWriter.class);
+        context.refresh();
+
+        workDirectory = Files.createTempDirectory("product-import-benchmark");
+        importService = new ProductImportService(context.getBean(ProductBatchWriter.class), new ObjectMapper(),
+            event -> { }, workDirectory.toString(), 1000, 4, 2);
+        csv = new MockMultipartFile("file", "catalog.csv", "text/csv", catalog(ROWS));
+    }
+
+    @Setup(Level.Invocation)
+    public void newSeller() {
+        seller = User.builder().id(UUID.randomUUID()).role(User.UserRole.SELLER).build();
+        jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, ?, 'SELLER')",
+            seller.getId(), seller.getId() + "@example.com");
+    }
+
+    @Benchmark
+    public ProductImportStatus importCatalog() throws Exception {
+        ProductImportStatus status = importService.submit(seller, csv);
+        while (!status.isFinished()) {
+            Thread.sleep(10);
+            status = importService.getStatus(status.jobId(), seller.getId()).orElseThrow();
+        }
+        if (status.state() != ProductImportStatus.State.COMPLETED || status.rowsImported() != ROWS) {
+            throw new IllegalStateException("Import did not complete: " + status);
+        }
+        return status;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        dataSource.close();
+        postgres.close();
+        FileSystemUtils.deleteRecursively(workDirectory);
+    }
+
+    private static byte[] catalog(int rows) {
+        Random random = new Random(42);
+        String[] categories = {"Fertilizantes", "Lombrices", "Composta", "Sustratos", "Accesorios"};
+        StringBuilder csv = new StringBuilder("sku,title,description,price,stock,category,imageUrls,isActive\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("SKU-").append(i).append(',')
+                .append("Humus de lombriz ").append(i).append(" kg,")
+                .append("\"Abono orgánico, cribado y listo para usar\",")
+                .append(BigDecimal.valueOf(1000 + random.nextInt(100_000), 2)).append(',')
+                .append(random.nextInt(500)).append(',')
+                .append(categories[i % categories.length]).append(',')
+                .append("https://cdn.example.com/p/").append(i).append(".webp,")
+                .append("true\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String script(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @EnableTransactionManagement
+    static class TransactionConfig {
+    }
+}
@@ -0,0 +1,10 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import java.util.UUID;
+
+public record AutocompleteSuggestion(
+    String text,
+    String type,
+    UUID productId
+) {
+}
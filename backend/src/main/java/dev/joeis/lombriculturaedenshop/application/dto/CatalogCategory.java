@@ -0,0 +1,8 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+public record CatalogCategory(
+    String name,
+    String slug,
+    long productCount
+) {
+}
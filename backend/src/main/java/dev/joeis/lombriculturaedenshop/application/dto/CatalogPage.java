@@ -0,0 +1,13 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import java.util.List;
+
+public record CatalogPage(
+    List<CatalogProduct> content,
+    String category,
+    int page,
+    int size,
+    long totalElements,
+    int totalPages
+) {
+}
@@ -0,0 +1,41 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record CatalogProduct(
+    UUID id,
+    UUID sellerId,
+    String title,
+    String description,
+    BigDecimal price,
+    String currency,
+    Integer stock,
+    String category,
+    List<String> imageUrls,
+    boolean isFeatured,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+
+    public static CatalogProduct from(Product product) {
+        return new CatalogProduct(
+            product.getId(),
+            product.getSeller() != null ? product.getSeller().getId() : null,
+            product.getTitle(),
+            product.getDescription(),
+            product.getPrice().toBigDecimal(),
+            product.getPrice().currency().getCurrencyCode(),
+            product.getStock(),
+            product.getCategory(),
+            product.getImageUrls() != null ? List.copyOf(product.getImageUrls()) : List.of(),
+            Boolean.TRUE.equals(product.getIsFeatured()),
+            product.getCreatedAt(),
+            product.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,4 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+public record ParcelProfile(int weightGrams, int lengthCm, int widthCm, int heightCm) {
+}
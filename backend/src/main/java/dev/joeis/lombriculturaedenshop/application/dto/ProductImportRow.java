@@ -0,0 +1,18 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductImportRow(
+    long lineNumber,
+    String sku,
+    String title,
+    String description,
+    BigDecimal price,
+    int stock,
+    String category,
+    List<String> imageUrls,
+    boolean active,
+    boolean featured
+) {
+}
@@ -0,0 +1,34 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ProductImportStatus(
+    UUID jobId,
+    UUID sellerId,
+    String fileName,
+    State state,
+    long rowsRead,
+    long rowsImported,
+    // Rows whose SKU appeared again later in the same batch and were overwritten by it
+    long rowsDuplicated,
+    long rowsFailed,
+    double rowsPerSecond,
+    String failureReason,
+    boolean hasErrorFile,
+    LocalDateTime submittedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt
+) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
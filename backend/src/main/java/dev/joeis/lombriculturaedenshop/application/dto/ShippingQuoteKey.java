@@ -0,0 +1,62 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Address;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Cache key for carrier quotes. It holds exactly what the carrier is quoted with: the
+ * normalized destination postal code and the parcel rounded up to weight/size buckets,
+ * so that equivalent carts share one quote. Every bucket is an
+ * upper bound, so quoting the bucket itself never undercharges a parcel that falls in it;
+ * sides are sorted longest first so the orientation of the box doesn't matter.
+ */
+public record ShippingQuoteKey(
+    String postalCode,
+    int weightBucketGrams,
+    int lengthBucketCm,
+    int widthBucketCm,
+    int heightBucketCm
+) {
+
+    private static final int SMALL_WEIGHT_STEP_GRAMS = 500;
+    private static final int LARGE_WEIGHT_STEP_GRAMS = 1000;
+    private static final int LARGE_WEIGHT_THRESHOLD_GRAMS = 5000;
+    private static final int SIZE_STEP_CM = 10;
+
+    public static ShippingQuoteKey of(Address destination, ParcelProfile parcel) {
+        if (destination == null || destination.getPostalCode() == null || destination.getPostalCode().isBlank()) {
+            throw new IllegalArgumentException("A destination postal code is required for a shipping quote");
+        }
+        int[] sides = {parcel.lengthCm(), parcel.widthCm(), parcel.heightCm()};
+        Arrays.sort(sides);
+        return new ShippingQuoteKey(
+            normalizePostalCode(destination.getPostalCode()),
+            // The carrier derives the volumetric weight from the bucket's dimensions
+            weightBucket(parcel.weightGrams()),
+            sizeBucket(sides[2]),
+            sizeBucket(sides[1]),
+            sizeBucket(sides[0])
+        );
+    }
+
+    private static String normalizePostalCode(String postalCode) {
+        return postalCode.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static int weightBucket(int grams) {
+        int positive = Math.max(1, grams);
+        return positive <= LARGE_WEIGHT_THRESHOLD_GRAMS
+            ? roundUp(positive, SMALL_WEIGHT_STEP_GRAMS)
+            : roundUp(positive, LARGE_WEIGHT_STEP_GRAMS);
+    }
+
+    private static int sizeBucket(int cm) {
+        return roundUp(Math.max(1, cm), SIZE_STEP_CM);
+    }
+
+    private static int roundUp(int value, int step) {
+        return (value + step - 1) / step * step;
+    }
+}
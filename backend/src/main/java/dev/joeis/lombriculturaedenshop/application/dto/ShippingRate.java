@@ -0,0 +1,12 @@
+package dev.joeis.lombriculturaedenshop.application.dto;
+
+import java.math.BigDecimal;
+
+public record ShippingRate(
+    String carrier,
+    String service,
+    BigDecimal amount,
+    String currency,
+    Integer deliveryDays
+) {
+}
@@ -0,0 +1,8 @@
+package dev.joeis.lombriculturaedenshop.application.exception;
+
+public class ShippingQuoteUnavailableException extends RuntimeException {
+
+    public ShippingQuoteUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,315 @@
+package dev.joeis.lombriculturaedenshop.application.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Accent-insensitive prefix index with popularity weights. Every node caches the
+ * top-k suggestions of its subtree, so a lookup is a walk down the prefix followed
+ * by a copy of at most k entries, independent of catalog size. Each suggestion is
+ * indexed under every word start of its text, so "roja" finds "Lombriz Roja".
+ * <p>
+ * Not thread-safe; callers coordinate access.
+ */
+public final class SuggestionTrie {
+
+    public enum Kind {
+        PRODUCT,
+        CATEGORY
+    }
+
+    public record Suggestion(String key, String text, Kind kind, long weight) {
+    }
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+        .comparingLong(Suggestion::weight).reversed()
+        .thenComparing(Suggestion::text);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Longer queries are matched against their first MAX_TERM_LENGTH characters
+    private static final int MAX_TERM_LENGTH = 32;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    // Rough HotSpot sizes with compressed oops, used for the footprint estimate
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final int topK;
+    private final Node root = new Node();
+    private final Map<String, Indexed> entries = new HashMap<>();
+    private boolean bulkLoading;
+
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Defers top-k maintenance until {@link #finishBulkLoad()}, which computes it in
+     * a single post-order pass instead of once per inserted term.
+     */
+    public void startBulkLoad() {
+        bulkLoading = true;
+    }
+
+    public void finishBulkLoad() {
+        bulkLoading = false;
+        computeTop(root);
+    }
+
+    private void computeTop(Node node) {
+        for (Node child : node.children) {
+            computeTop(child);
+        }
+        node.recomputeTop(topK);
+    }
+
+    /**
+     * Adds or replaces the suggestion with the given key.
+     */
+    public void put(String key, String text, Kind kind, long weight) {
+        remove(key);
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = new Suggestion(key, text, kind, weight);
+        entries.put(key, new Indexed(suggestion, terms));
+        for (String term : terms) {
+            Node[] path = new Node[term.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.childOrCreate(term.charAt(i));
+                path[i + 1] = node;
+            }
+            node.terminals = append(node.terminals, suggestion);
+            if (bulkLoading) {
+                continue;
+            }
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recomputeTop(topK);
+            }
+        }
+    }
+
+    public void remove(String key) {
+        Indexed indexed = entries.remove(key);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            Node[] path = new Node[term.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < term.length() && node != null; i++) {
+                node = node.child(term.charAt(i));
+                path[i + 1] = node;
+            }
+            if (node == null) {
+                continue;
+            }
+            node.terminals = without(node.terminals, key);
+            for (int i = path.length - 1; i >= 0; i--) {
+                Node current = path[i];
+                if (i > 0 && current.isEmpty()) {
+                    path[i - 1].removeChild(term.charAt(i - 1));
+                } else if (!bulkLoading) {
+                    current.recomputeTop(topK);
+                }
+            }
+        }
+    }
+
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = truncate(normalize(prefix));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Suggestion[] top = node.top;
+        return List.of(top.length > limit ? Arrays.copyOf(top, limit) : top);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Footprint footprint() {
+        long[] totals = new long[2];
+        Set<Suggestion> suggestions = new HashSet<>();
+        measure(root, totals);
+        entries.values().forEach(indexed -> suggestions.add(indexed.suggestion()));
+        long suggestionBytes = 0;
+        for (Suggestion suggestion : suggestions) {
+            // record + key and text strings (Latin-1 compact strings)
+            suggestionBytes += OBJECT_HEADER_BYTES + 3L * REFERENCE_BYTES + 8
+                + 2L * (OBJECT_HEADER_BYTES + 12 + ARRAY_HEADER_BYTES)
+                + suggestion.key().length() + suggestion.text().length();
+        }
+        return new Footprint(totals[0], entries.size(), totals[1] + suggestionBytes);
+    }
+
+    private static void measure(Node node, long[] totals) {
+        totals[0]++;
+        totals[1] += OBJECT_HEADER_BYTES + 4L * REFERENCE_BYTES
+            + (node.labels.length > 0 ? ARRAY_HEADER_BYTES + 2L * node.labels.length : 0)
+            + (node.children.length > 0 ? ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.children.length : 0)
+            + (node.terminals.length > 0 ? ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.terminals.length : 0)
+            + (node.top.length > 0 ? ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.top.length : 0);
+        for (Node child : node.children) {
+            measure(child, totals);
+        }
+    }
+
+    public record Footprint(long nodes, int suggestions, long estimatedBytes) {
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses punctuation to single spaces, so
+     * "Café-Orgánico" and "cafe organico" index identically.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> terms(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (int start = 0; start < normalized.length(); start++) {
+            if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                String term = normalized.substring(start, Math.min(normalized.length(), start + MAX_TERM_LENGTH));
+                terms.add(term.stripTrailing());
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    // Same cut as terms() applies to indexed terms
+    private static String truncate(String term) {
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH).stripTrailing() : term;
+    }
+
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(suggestions, suggestions.length + 1);
+        result[suggestions.length] = suggestion;
+        return result;
+    }
+
+    private static Suggestion[] without(Suggestion[] suggestions, String key) {
+        List<Suggestion> kept = new ArrayList<>(suggestions.length);
+        for (Suggestion suggestion : suggestions) {
+            if (!suggestion.key().equals(key)) {
+                kept.add(suggestion);
+            }
+        }
+        return kept.isEmpty() ? NO_SUGGESTIONS : kept.toArray(NO_SUGGESTIONS);
+    }
+
+    private record Indexed(Suggestion suggestion, List<String> terms) {
+    }
+
+    private static final class Node {
+
+        // Children are kept in parallel arrays sorted by label to keep nodes small
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels.length > 0 ? newLabels : NO_LABELS;
+            children = newChildren.length > 0 ? newChildren : NO_CHILDREN;
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        void recomputeTop(int k) {
+            List<Suggestion> candidates = new ArrayList<>(terminals.length + children.length * k);
+            candidates.addAll(Arrays.asList(terminals));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_WEIGHT);
+            List<Suggestion> result = new ArrayList<>(Math.min(k, candidates.size()));
+            Set<String> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (result.size() == k) {
+                    break;
+                }
+                if (seen.add(candidate.key())) {
+                    result.add(candidate);
+                }
+            }
+            top = result.isEmpty() ? NO_SUGGESTIONS : result.toArray(NO_SUGGESTIONS);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogPage;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogProduct;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie;
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.CategoryCountView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Public catalog listings read straight from the database. Anonymous traffic is
+ * served from the pre-rendered copies made by {@link CatalogSnapshotService}; this
+ * is the source those copies are rendered from.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogService {
+
+    // Newest first; id breaks ties so page boundaries are stable
+    private static final Sort CATALOG_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
+    private final ProductRepository productRepository;
+    private final int pageSize;
+
+    public CatalogService(
+            ProductRepository productRepository,
+            @Value("${application.catalog.page-size:24}") int pageSize) {
+        this.productRepository = productRepository;
+        this.pageSize = pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public CatalogPage getCatalogPage(int page) {
+        return toCatalogPage(productRepository.findByIsActiveTrue(pageRequest(page)), null);
+    }
+
+    public CatalogPage getCategoryPage(String category, int page) {
+        return toCatalogPage(productRepository.findByIsActiveTrueAndCategory(category, pageRequest(page)), category);
+    }
+
+    public List<CatalogProduct> getFeatured() {
+        return productRepository.findByIsActiveTrueAndIsFeaturedTrue().stream()
+            .sorted(Comparator.comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Product::getId))
+            .map(CatalogProduct::from)
+            .toList();
+    }
+
+    public List<CategoryCountView> getCategoryCounts() {
+        return productRepository.countActiveByCategory();
+    }
+
+    public Optional<CatalogProduct> findVisibleProduct(UUID productId) {
+        return productRepository.findById(productId)
+            .filter(product -> Boolean.TRUE.equals(product.getIsActive()))
+            .map(CatalogProduct::from);
+    }
+
+    /**
+     * URL-safe category identifier: accents stripped, lower case, words joined by dashes.
+     * Two categories can map to the same one; {@link CatalogSnapshotService#categorySlugs}
+     * resolves those collisions and is what callers outside this package should use.
+     */
+    static String slugOf(String category) {
+        String slug = SuggestionTrie.normalize(category).replace(' ', '-');
+        return slug.isEmpty() ? "category-" + Integer.toHexString(category.hashCode()) : slug;
+    }
+
+    private PageRequest pageRequest(int page) {
+        return PageRequest.of(Math.max(page, 0), pageSize, CATALOG_ORDER);
+    }
+
+    private static CatalogPage toCatalogPage(Page<Product> page, String category) {
+        return new CatalogPage(
+            page.getContent().stream().map(CatalogProduct::from).toList(),
+            category,
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements(),
+            page.getTotalPages()
+        );
+    }
+}
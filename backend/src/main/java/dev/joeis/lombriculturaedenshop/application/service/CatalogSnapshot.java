@@ -0,0 +1,42 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One immutable, published version of the pre-rendered catalog. Files are never
+ * modified once a version is published; a change produces a new version directory
+ * that hard-links every file it does not rewrite.
+ */
+public record CatalogSnapshot(String version, Path directory, Map<String, SnapshotFile> files) {
+
+    public Optional<SnapshotFile> find(String path) {
+        return Optional.ofNullable(files.get(path));
+    }
+
+    /**
+     * A rendered file and its precompressed siblings ({@code .gz}, {@code .br}).
+     * Sizes are -1 when that encoding was not produced.
+     */
+    public record SnapshotFile(
+        String path,
+        String contentType,
+        String etag,
+        long size,
+        long gzipSize,
+        long brotliSize
+    ) {
+
+        public static final String GZIP_SUFFIX = ".gz";
+        public static final String BROTLI_SUFFIX = ".br";
+
+        public boolean hasGzip() {
+            return gzipSize >= 0;
+        }
+
+        public boolean hasBrotli() {
+            return brotliSize >= 0;
+        }
+    }
+}
@@ -0,0 +1,755 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogCategory;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogPage;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogProduct;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshot.SnapshotFile;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductChangedEvent;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductRowsChangedEvent;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductsImportedEvent;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.CategoryCountView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-renders the public catalog (listing pages, category pages, featured products,
+ * category index and sitemap) to static files with gzip and, optionally, brotli
+ * siblings, so anonymous browsing is served from disk without touching JPA.
+ * <p>
+ * Each change produces a new version directory. Files that are not affected are
+ * hard-linked from the previous version and only the affected pages are rendered
+ * again: an edit that keeps a product visible in the same category rewrites the one
+ * page it is on, while products appearing, disappearing or moving between categories
+ * re-render the listings whose pagination shifted. Changes are debounced and applied
+ * on a single thread; a full render runs at startup, after bulk imports and nightly.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+
+    public static final String CATEGORIES = "categories.json";
+    public static final String FEATURED = "featured.json";
+    public static final String SITEMAP = "sitemap.xml";
+
+    private static final String JSON = "application/json";
+    private static final String XML = "application/xml";
+    private static final String VERSION_PREFIX = "v";
+    private static final int SITEMAP_MAX_URLS = 50_000;
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+    private static final long BROTLI_TIMEOUT_SECONDS = 30;
+
+    private final CatalogService catalogService;
+    private final TransactionTemplate primaryReads;
+    private final ObjectMapper objectMapper;
+    private final Path rootDirectory;
+    private final String siteUrl;
+    private final List<String> brotliCommand;
+    private final long debounceMillis;
+    private final int retainedVersions;
+    private final ScheduledExecutorService executor;
+    private final Timer fullGenerationTimer;
+    private final Timer incrementalGenerationTimer;
+
+    private final Set<UUID> pendingProducts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingFull = new AtomicBoolean();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private volatile CatalogSnapshot current;
+    private volatile Map<String, String> publishedSlugs = Map.of();
+
+    // Only accessed from the executor thread
+    private CatalogState state;
+    private long lastVersion;
+
+    public CatalogSnapshotService(
+            CatalogService catalogService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.catalog.snapshot.directory:./snapshots/catalog}") String directory,
+            @Value("${application.catalog.site-url:http://localhost:3000}") String siteUrl,
+            @Value("${application.catalog.snapshot.brotli-command:}") String brotliCommand,
+            @Value("${application.catalog.snapshot.debounce:500ms}") Duration debounce,
+            @Value("${application.catalog.snapshot.retained-versions:3}") int retainedVersions) {
+        this.catalogService = catalogService;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.rootDirectory = Paths.get(directory).toAbsolutePath();
+        this.siteUrl = StringUtils.trimTrailingCharacter(siteUrl, '/');
+        this.brotliCommand = StringUtils.hasText(brotliCommand)
+            ? List.of(brotliCommand.trim().split("\\s+"))
+            : List.of();
+        this.debounceMillis = debounce.toMillis();
+        this.retainedVersions = Math.max(2, retainedVersions);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fullGenerationTimer = Timer.builder("catalog.snapshot.generation")
+            .tag("scope", "full")
+            .register(meterRegistry);
+        this.incrementalGenerationTimer = Timer.builder("catalog.snapshot.generation")
+            .tag("scope", "incremental")
+            .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.files", this, service -> {
+            CatalogSnapshot snapshot = service.current;
+            return snapshot != null ? snapshot.files().size() : 0;
+        }).register(meterRegistry);
+    }
+
+    /**
+     * The published snapshot, or {@code null} until the first render has finished.
+     */
+    public CatalogSnapshot getCurrent() {
+        return current;
+    }
+
+    /**
+     * Slugs for the given categories as the snapshot publishes them, so live responses
+     * link to the same category pages. Categories that are not published yet get the
+     * slug a full render would assign them.
+     */
+    public Map<String, String> categorySlugs(Collection<String> categories) {
+        CatalogState names = new CatalogState();
+        names.slugs.putAll(publishedSlugs);
+        categories.forEach(names::assignSlug);
+        return names.slugs;
+    }
+
+    public static String catalogPagePath(int page) {
+        return "catalog/page-" + page + ".json";
+    }
+
+    public static String categoryPagePath(String slug, int page) {
+        return "category/" + slug + "/page-" + page + ".json";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.catalog.snapshot.full-regeneration-cron:0 0 4 * * *}")
+    public void requestFullRegeneration() {
+        pendingFull.set(true);
+        scheduleDrain(0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        markChanged(event.productId());
+    }
+
+    @EventListener
+    public void onProductRowsChanged(ProductRowsChangedEvent event) {
+        if (event.isAllProducts()) {
+            pendingFull.set(true);
+            scheduleDrain(debounceMillis);
+        } else {
+            markChanged(event.productId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        pendingFull.set(true);
+        scheduleDrain(debounceMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void markChanged(UUID productId) {
+        if (productId != null) {
+            pendingProducts.add(productId);
+            scheduleDrain(debounceMillis);
+        }
+    }
+
+    private void scheduleDrain(long delayMillis) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        boolean full = pendingFull.getAndSet(false) || state == null;
+        Set<UUID> changed = new HashSet<>();
+        for (Iterator<UUID> it = pendingProducts.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+        try {
+            if (full) {
+                fullGenerationTimer.record(this::renderAll);
+            } else if (!changed.isEmpty()) {
+                incrementalGenerationTimer.record(() -> renderChanges(changed));
+            }
+        } catch (RuntimeException e) {
+            log.error("Catalog snapshot generation failed, retrying with a full render", e);
+            pendingFull.set(true);
+            scheduleDrain(RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private void renderAll() {
+        CatalogState rendered = new CatalogState();
+        VersionWriter writer = new VersionWriter(null);
+
+        rendered.catalogOrder.addAll(writeListing(writer, null, null, 0, rendered));
+        for (CategoryCountView view : readFromPrimary(catalogService::getCategoryCounts)) {
+            rendered.assignSlug(view.getCategory());
+        }
+        for (String category : rendered.slugs.keySet()) {
+            rendered.categoryOrder.put(category, writeListing(writer, category, rendered.slugs.get(category), 0, rendered));
+        }
+        writeCategories(writer, rendered);
+        writeFeatured(writer);
+        writeSitemap(writer, rendered);
+
+        publish(writer, rendered);
+        log.info("Catalog snapshot {} rendered: {} products, {} categories, {} files",
+            current.version(), rendered.products.size(), rendered.slugs.size(), current.files().size());
+    }
+
+    private void renderChanges(Set<UUID> changed) {
+        CatalogState next = state.copy();
+        ChangePlan plan = ChangePlan.of(next, changed, catalogService.getPageSize(),
+            productId -> readFromPrimary(() -> catalogService.findVisibleProduct(productId))
+                .map(product -> new Membership(product.category(), product.isFeatured())));
+        if (plan.isEmpty()) {
+            return;
+        }
+
+        VersionWriter writer = new VersionWriter(current);
+        if (plan.reflowCatalog()) {
+            next.catalogOrder = writeListing(writer, null, null, 0, next);
+        } else {
+            for (int page : plan.catalogPages()) {
+                rewritePage(writer, null, null, page, next.catalogOrder, next);
+            }
+        }
+
+        for (String category : plan.reflowedCategories()) {
+            boolean hasProducts = next.products.values().stream()
+                .anyMatch(membership -> category.equals(membership.category()));
+            if (hasProducts) {
+                String slug = next.assignSlug(category);
+                next.categoryOrder.put(category, writeListing(writer, category, slug, 0, next));
+            } else {
+                String slug = next.slugs.remove(category);
+                if (slug != null) {
+                    writer.deleteDirectory("category/" + slug + "/");
+                }
+                next.categoryOrder.remove(category);
+            }
+        }
+        plan.categoryPages().forEach((category, pages) -> {
+            if (plan.reflowedCategories().contains(category)) {
+                return;
+            }
+            for (int page : pages) {
+                rewritePage(writer, category, next.slugs.get(category), page, next.categoryOrder.get(category), next);
+            }
+        });
+
+        if (plan.categoriesChanged() || plan.reflowCatalog()) {
+            writeCategories(writer, next);
+            writeSitemap(writer, next);
+        }
+        if (plan.featured()) {
+            writeFeatured(writer);
+        }
+
+        publish(writer, next);
+        log.debug("Catalog snapshot {} rendered for {} changed products", current.version(), changed.size());
+    }
+
+    /**
+     * Renders every page of a listing from {@code fromPage} on, removes pages past
+     * the new end and returns the listing order.
+     */
+    private List<UUID> writeListing(VersionWriter writer, String category, String slug, int fromPage,
+                                    CatalogState target) {
+        List<UUID> order = new ArrayList<>();
+        int page = fromPage;
+        CatalogPage rendered;
+        do {
+            rendered = readPage(category, page);
+            writer.writeJson(listingPath(slug, page), rendered);
+            for (CatalogProduct product : rendered.content()) {
+                order.add(product.id());
+                target.products.put(product.id(), new Membership(product.category(), product.isFeatured()));
+            }
+            page++;
+        } while (page < rendered.totalPages());
+        int pageCount = page;
+        writer.deleteMatching(path -> isListingPageBeyond(path, slug, pageCount));
+        return order;
+    }
+
+    private void rewritePage(VersionWriter writer, String category, String slug, int page, List<UUID> order,
+                             CatalogState target) {
+        CatalogPage rendered = readPage(category, page);
+        writer.writeJson(listingPath(slug, page), rendered);
+        int offset = page * catalogService.getPageSize();
+        for (int i = 0; i < rendered.content().size(); i++) {
+            CatalogProduct product = rendered.content().get(i);
+            if (offset + i < order.size()) {
+                order.set(offset + i, product.id());
+            }
+            target.products.put(product.id(), new Membership(product.category(), product.isFeatured()));
+        }
+    }
+
+    private static String listingPath(String slug, int page) {
+        return slug == null ? catalogPagePath(page) : categoryPagePath(slug, page);
+    }
+
+    private static boolean isListingPageBeyond(String path, String slug, int pageCount) {
+        String prefix = slug == null ? "catalog/page-" : "category/" + slug + "/page-";
+        if (!path.startsWith(prefix) || !path.endsWith(".json")) {
+            return false;
+        }
+        String number = path.substring(prefix.length(), path.length() - ".json".length());
+        try {
+            return Integer.parseInt(number) >= pageCount;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void writeCategories(VersionWriter writer, CatalogState target) {
+        List<CatalogCategory> categories = target.slugs.entrySet().stream()
+            .map(entry -> new CatalogCategory(entry.getKey(), entry.getValue(),
+                target.categoryOrder.getOrDefault(entry.getKey(), List.of()).size()))
+            .sorted(Comparator.comparing(CatalogCategory::name))
+            .toList();
+        writer.writeJson(CATEGORIES, categories);
+    }
+
+    private void writeFeatured(VersionWriter writer) {
+        writer.writeJson(FEATURED, readFromPrimary(catalogService::getFeatured));
+    }
+
+    private CatalogPage readPage(String category, int page) {
+        return readFromPrimary(() -> category == null
+            ? catalogService.getCatalogPage(page)
+            : catalogService.getCategoryPage(category, page));
+    }
+
+    /**
+     * Runs a read in a read-write transaction so it goes to the primary. Renders follow
+     * a commit or NOTIFY immediately, so a lagging replica could still return the old
+     * rows, and the stale page would then stay published until the product changes again.
+     */
+    private <T> T readFromPrimary(Supplier<T> read) {
+        return primaryReads.execute(status -> read.get());
+    }
+
+    private void writeSitemap(VersionWriter writer, CatalogState target) {
+        List<String> urls = new ArrayList<>();
+        urls.add(siteUrl + "/");
+        urls.add(siteUrl + "/products");
+        for (String category : new TreeSet<>(target.slugs.keySet())) {
+            urls.add(siteUrl + "/products?category=" + UriUtils.encodeQueryParam(category, StandardCharsets.UTF_8));
+        }
+        for (UUID productId : target.catalogOrder) {
+            urls.add(siteUrl + "/products/" + productId);
+        }
+        if (urls.size() > SITEMAP_MAX_URLS) {
+            log.warn("Sitemap truncated to {} of {} URLs", SITEMAP_MAX_URLS, urls.size());
+            urls = urls.subList(0, SITEMAP_MAX_URLS);
+        }
+
+        StringBuilder xml = new StringBuilder(urls.size() * 80 + 128)
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (String url : urls) {
+            xml.append("  <url><loc>").append(HtmlUtils.htmlEscape(url)).append("</loc></url>\n");
+        }
+        xml.append("</urlset>\n");
+        writer.write(SITEMAP, xml.toString().getBytes(StandardCharsets.UTF_8), XML);
+    }
+
+    private void publish(VersionWriter writer, CatalogState rendered) {
+        current = writer.finish();
+        state = rendered;
+        publishedSlugs = Map.copyOf(rendered.slugs);
+        removeOldVersions();
+    }
+
+    private void removeOldVersions() {
+        List<Path> versions;
+        try (Stream<Path> children = Files.list(rootDirectory)) {
+            versions = children
+                .filter(path -> path.getFileName().toString().startsWith(VERSION_PREFIX))
+                .filter(Files::isDirectory)
+                .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                .toList();
+        } catch (IOException e) {
+            log.warn("Could not list catalog snapshot versions: {}", e.getMessage());
+            return;
+        }
+        // Older versions are kept for a while so responses already being sent can finish
+        for (Path version : versions.subList(Math.min(retainedVersions, versions.size()), versions.size())) {
+            deleteRecursively(version);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete catalog snapshot {}: {}", directory, e.getMessage());
+        }
+    }
+
+    record Membership(String category, boolean featured) {
+    }
+
+    /**
+     * The pages a set of product changes touches. An edit that keeps a product in its
+     * place rewrites just the page it sits on; a product appearing, disappearing or
+     * moving category reflows the affected listings from the first page.
+     */
+    record ChangePlan(
+        Set<Integer> catalogPages,
+        Map<String, Set<Integer>> categoryPages,
+        Set<String> reflowedCategories,
+        boolean reflowCatalog,
+        boolean featured,
+        boolean categoriesChanged
+    ) {
+
+        /**
+         * Plans the changes against {@code next} and records the new memberships in it.
+         * {@code lookup} returns empty for a product that is no longer visible.
+         */
+        static ChangePlan of(CatalogState next, Set<UUID> changed, int pageSize,
+                             Function<UUID, Optional<Membership>> lookup) {
+            Set<Integer> catalogPages = new TreeSet<>();
+            Map<String, Set<Integer>> categoryPages = new HashMap<>();
+            Set<String> reflowedCategories = new HashSet<>();
+            boolean reflowCatalog = false;
+            boolean featured = false;
+            boolean categoriesChanged = false;
+
+            for (UUID productId : changed) {
+                Membership before = next.products.get(productId);
+                Membership after = lookup.apply(productId).orElse(null);
+                if (before == null && after == null) {
+                    continue;
+                }
+                if (before != null && before.featured() || after != null && after.featured()) {
+                    featured = true;
+                }
+                int catalogIndex = next.catalogOrder.indexOf(productId);
+                if (before == null || after == null || catalogIndex < 0) {
+                    reflowCatalog = true;
+                } else {
+                    catalogPages.add(catalogIndex / pageSize);
+                }
+
+                String beforeCategory = before != null ? before.category() : null;
+                String afterCategory = after != null ? after.category() : null;
+                int categoryIndex = afterCategory != null
+                    ? next.categoryOrder.getOrDefault(afterCategory, List.of()).indexOf(productId)
+                    : -1;
+                if (before != null && after != null && Objects.equals(beforeCategory, afterCategory)
+                        && (afterCategory == null || categoryIndex >= 0)) {
+                    if (afterCategory != null) {
+                        categoryPages.computeIfAbsent(afterCategory, c -> new TreeSet<>()).add(categoryIndex / pageSize);
+                    }
+                } else {
+                    if (beforeCategory != null) {
+                        reflowedCategories.add(beforeCategory);
+                    }
+                    if (afterCategory != null) {
+                        reflowedCategories.add(afterCategory);
+                    }
+                    categoriesChanged = true;
+                }
+
+                if (after != null) {
+                    next.products.put(productId, after);
+                } else {
+                    next.products.remove(productId);
+                }
+            }
+            return new ChangePlan(catalogPages, categoryPages, reflowedCategories, reflowCatalog, featured,
+                categoriesChanged);
+        }
+
+        boolean isEmpty() {
+            return !reflowCatalog && catalogPages.isEmpty() && categoryPages.isEmpty()
+                && reflowedCategories.isEmpty() && !featured;
+        }
+    }
+
+    /**
+     * What the published snapshot contains, used to work out which files a change touches.
+     */
+    static final class CatalogState {
+
+        final Map<UUID, Membership> products;
+        final Map<String, String> slugs;
+        final Map<String, List<UUID>> categoryOrder;
+        List<UUID> catalogOrder;
+
+        CatalogState() {
+            this(new HashMap<>(), new TreeMap<>(), new HashMap<>(), new ArrayList<>());
+        }
+
+        private CatalogState(Map<UUID, Membership> products, Map<String, String> slugs,
+                             Map<String, List<UUID>> categoryOrder, List<UUID> catalogOrder) {
+            this.products = products;
+            this.slugs = slugs;
+            this.categoryOrder = categoryOrder;
+            this.catalogOrder = catalogOrder;
+        }
+
+        CatalogState copy() {
+            Map<String, List<UUID>> orders = new HashMap<>();
+            categoryOrder.forEach((category, order) -> orders.put(category, new ArrayList<>(order)));
+            return new CatalogState(new HashMap<>(products), new TreeMap<>(slugs), orders,
+                new ArrayList<>(catalogOrder));
+        }
+
+        String assignSlug(String category) {
+            String existing = slugs.get(category);
+            if (existing != null) {
+                return existing;
+            }
+            String slug = CatalogService.slugOf(category);
+            if (slugs.containsValue(slug)) {
+                slug = slug + "-" + Integer.toHexString(category.hashCode());
+            }
+            slugs.put(category, slug);
+            return slug;
+        }
+    }
+
+    /**
+     * Builds the next version directory. Files of the previous version are hard-linked
+     * up front; rewritten files replace the link atomically, so the previous version
+     * keeps its own content.
+     */
+    private final class VersionWriter {
+
+        private final String version;
+        private final Path directory;
+        private final Map<String, SnapshotFile> files;
+
+        VersionWriter(CatalogSnapshot previous) {
+            long next = Math.max(System.currentTimeMillis(), lastVersion + 1);
+            lastVersion = next;
+            this.version = VERSION_PREFIX + next;
+            this.directory = rootDirectory.resolve(version);
+            this.files = new LinkedHashMap<>();
+            try {
+                Files.createDirectories(directory);
+                if (previous != null) {
+                    for (SnapshotFile file : previous.files().values()) {
+                        link(previous.directory(), file.path());
+                        if (file.hasGzip()) {
+                            link(previous.directory(), file.path() + SnapshotFile.GZIP_SUFFIX);
+                        }
+                        if (file.hasBrotli()) {
+                            link(previous.directory(), file.path() + SnapshotFile.BROTLI_SUFFIX);
+                        }
+                        files.put(file.path(), file);
+                    }
+                }
+            } catch (IOException e) {
+                throw new SnapshotWriteException("Could not prepare catalog snapshot " + version, e);
+            }
+        }
+
+        void writeJson(String path, Object value) {
+            try {
+                write(path, objectMapper.writeValueAsBytes(value), JSON);
+            } catch (IOException e) {
+                throw new SnapshotWriteException("Could not render " + path, e);
+            }
+        }
+
+        void write(String path, byte[] content, String contentType) {
+            Path target = directory.resolve(path);
+            try {
+                Files.createDirectories(target.getParent());
+                replace(target, content);
+                byte[] gzipped = gzip(content);
+                replace(resolveSibling(target, SnapshotFile.GZIP_SUFFIX), gzipped);
+                long brotliSize = brotli(target);
+                files.put(path, new SnapshotFile(path, contentType, etag(content), content.length,
+                    gzipped.length, brotliSize));
+            } catch (IOException e) {
+                throw new SnapshotWriteException("Could not write " + path, e);
+            }
+        }
+
+        void deleteDirectory(String prefix) {
+            deleteMatching(path -> path.startsWith(prefix));
+        }
+
+        void deleteMatching(Predicate<String> matcher) {
+            List<String> paths = files.keySet().stream().filter(matcher).toList();
+            try {
+                for (String path : paths) {
+                    Path target = directory.resolve(path);
+                    Files.deleteIfExists(target);
+                    Files.deleteIfExists(resolveSibling(target, SnapshotFile.GZIP_SUFFIX));
+                    Files.deleteIfExists(resolveSibling(target, SnapshotFile.BROTLI_SUFFIX));
+                    files.remove(path);
+                }
+            } catch (IOException e) {
+                throw new SnapshotWriteException("Could not remove outdated snapshot files", e);
+            }
+        }
+
+        CatalogSnapshot finish() {
+            return new CatalogSnapshot(version, directory, Map.copyOf(files));
+        }
+
+        private void link(Path previousDirectory, String path) throws IOException {
+            Path source = previousDirectory.resolve(path);
+            Path target = directory.resolve(path);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.createLink(target, source);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        private void replace(Path target, byte[] content) throws IOException {
+            Path temporary = resolveSibling(target, ".tmp");
+            Files.write(temporary, content);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private long brotli(Path source) throws IOException {
+            Path target = resolveSibling(source, SnapshotFile.BROTLI_SUFFIX);
+            if (brotliCommand.isEmpty()) {
+                Files.deleteIfExists(target);
+                return -1;
+            }
+            Path temporary = resolveSibling(source, SnapshotFile.BROTLI_SUFFIX + ".tmp");
+            List<String> command = new ArrayList<>(brotliCommand);
+            command.addAll(Arrays.asList("-f", "-o", temporary.toString(), source.toString()));
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+                if (!process.waitFor(BROTLI_TIMEOUT_SECONDS, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                    process.destroyForcibly();
+                    log.warn("Brotli compression of {} failed, serving gzip only", source.getFileName());
+                    Files.deleteIfExists(temporary);
+                    Files.deleteIfExists(target);
+                    return -1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while compressing " + source, e);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(target);
+        }
+
+        private static Path resolveSibling(Path path, String suffix) {
+            return path.resolveSibling(path.getFileName() + suffix);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class SnapshotWriteException extends RuntimeException {
+
+        SnapshotWriteException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.OrderPartitionMaintenance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves finished orders (delivered, cancelled, refunded) older than the configured
+ * threshold out of the hot tables into gzip-compressed NDJSON files, one per order
+ * month, each line holding the order with its items, payment and shipment. Rows are
+ * deleted only after their batch has been written and synced to disk; a crash in
+ * between can repeat a batch, so consumers should de-duplicate by order id.
+ * Partitions emptied by archival are dropped afterwards.
+ * <p>
+ * Only one instance archives at a time (a Postgres advisory lock is held for the whole
+ * run), and the archive directory has to be storage shared by all instances so the
+ * monthly files are not split between nodes.
+ */
+@Service
+@Slf4j
+public class OrderArchivalService {
+
+    private static final List<String> ARCHIVABLE_STATUSES = List.of(
+        Order.OrderStatus.DELIVERED.name(),
+        Order.OrderStatus.CANCELLED.name(),
+        Order.OrderStatus.REFUNDED.name()
+    );
+
+    // Arbitrary key for pg_try_advisory_lock, shared by every instance of the backend
+    private static final long ARCHIVE_LOCK_KEY = 0x4f52444552415243L;
+
+    private static final String SELECT_BATCH_SQL = """
+        SELECT id FROM orders
+        WHERE status IN (:statuses) AND created_at < :cutoff
+        ORDER BY created_at
+        LIMIT :limit
+        """;
+
+    private static final String EXPORT_SQL = """
+        SELECT to_char(o.created_at, 'YYYY-MM') AS month,
+               jsonb_build_object(
+                   'order', to_jsonb(o),
+                   'items', COALESCE((SELECT jsonb_agg(to_jsonb(oi)) FROM order_items oi WHERE oi.order_id = o.id), '[]'::jsonb),
+                   'payment', (SELECT to_jsonb(p) FROM payments p WHERE p.order_id = o.id LIMIT 1),
+                   'shipment', (SELECT to_jsonb(s) FROM shipments s WHERE s.order_id = o.id LIMIT 1)
+               )::text AS document
+        FROM orders o
+        WHERE o.id IN (:ids) AND o.created_at < :cutoff
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPartitionMaintenance partitionMaintenance;
+    private final Path archiveDirectory;
+    private final Duration olderThan;
+    private final int batchSize;
+    private final boolean enabled;
+
+    public OrderArchivalService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            OrderPartitionMaintenance partitionMaintenance,
+            @Value("${application.orders.archive.directory:}") String archiveDirectory,
+            @Value("${application.orders.archive.older-than:365d}") Duration olderThan,
+            @Value("${application.orders.archive.batch-size:500}") int batchSize,
+            @Value("${application.orders.archive.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionMaintenance = partitionMaintenance;
+        if (enabled && archiveDirectory.isBlank()) {
+            throw new IllegalStateException(
+                "application.orders.archive.directory (ORDER_ARCHIVE_DIR) must be set when order archival is enabled");
+        }
+        this.archiveDirectory = archiveDirectory.isBlank() ? null : Paths.get(archiveDirectory).toAbsolutePath();
+        this.olderThan = olderThan;
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${application.orders.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * @return the number of archived orders, or 0 if another instance is already archiving
+     */
+    public long archive() {
+        Assert.state(archiveDirectory != null, "No order archive directory configured");
+        // The lock belongs to this connection's session, so it is held on one connection for the run
+        Long archived = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Order archival is already running on another instance, skipping");
+                return 0L;
+            }
+            try {
+                return archiveLocked();
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+        return archived != null ? archived : 0;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ARCHIVE_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private long archiveLocked() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        long archived = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            batch = count != null ? count : 0;
+            archived += batch;
+        } while (batch == batchSize);
+
+        int dropped = partitionMaintenance.dropEmptyPartitionsBefore(cutoff.toLocalDate().withDayOfMonth(1));
+        log.info("Archived {} orders created before {}, dropped {} empty partitions", archived, cutoff, dropped);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<UUID> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, new MapSqlParameterSource()
+            .addValue("statuses", ARCHIVABLE_STATUSES)
+            .addValue("cutoff", cutoff)
+            .addValue("limit", batchSize), UUID.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<String>> documentsByMonth = new TreeMap<>();
+        // The created_at bound lets Postgres prune orders to the old partitions; the
+        // unpartitioned children are reached through their order_id indexes
+        MapSqlParameterSource idParams = new MapSqlParameterSource("ids", ids).addValue("cutoff", cutoff);
+        jdbcTemplate.query(EXPORT_SQL, idParams, rs -> {
+            documentsByMonth.computeIfAbsent(rs.getString("month"), month -> new ArrayList<>())
+                .add(rs.getString("document"));
+        });
+        documentsByMonth.forEach(this::append);
+
+        jdbcTemplate.update("UPDATE reviews SET order_id = NULL WHERE order_id IN (:ids)", idParams);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", idParams);
+        jdbcTemplate.update("DELETE FROM payments WHERE order_id IN (:ids)", idParams);
+        jdbcTemplate.update("DELETE FROM shipments WHERE order_id IN (:ids)", idParams);
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids) AND created_at < :cutoff", idParams);
+        return ids.size();
+    }
+
+    // Every call appends a complete gzip member; concatenated members read back as one stream
+    private void append(String month, List<String> documents) {
+        Path file = archiveDirectory.resolve("orders-" + month + ".ndjson.gz");
+        try {
+            Files.createDirectories(archiveDirectory);
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel));
+                Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+                for (String document : documents) {
+                    writer.write(document);
+                    writer.write('\n');
+                }
+                writer.flush();
+                gzip.finish();
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write order archive " + file, e);
+        }
+    }
+}
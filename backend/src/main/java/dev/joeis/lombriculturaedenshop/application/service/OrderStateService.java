@@ -0,0 +1,130 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.entity.Payment;
+import dev.joeis.lombriculturaedenshop.domain.entity.Shipment;
+import dev.joeis.lombriculturaedenshop.domain.repository.OrderRepository;
+import dev.joeis.lombriculturaedenshop.domain.repository.PaymentRepository;
+import dev.joeis.lombriculturaedenshop.domain.repository.ShipmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Applies status changes to orders, payments and shipments. Concurrent updaters
+ * (webhooks, admin actions, tracking refreshes) are reconciled with the entities'
+ * {@code @Version} columns: each attempt is a short transaction that re-reads the
+ * current state and re-validates the transition, and a version conflict simply
+ * retries with jittered backoff. No row locks are held, so external calls made by
+ * callers before or after never block other updaters.
+ */
+@Service
+@Slf4j
+public class OrderStateService {
+
+    private static final long BASE_BACKOFF_NANOS = 1_000_000;
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final ShipmentRepository shipmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Counter retriedConflicts;
+    private final Counter exhaustedConflicts;
+
+    public OrderStateService(
+            OrderRepository orderRepository,
+            PaymentRepository paymentRepository,
+            ShipmentRepository shipmentRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application.orders.optimistic-lock-max-attempts:10}") int maxAttempts) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.shipmentRepository = shipmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retriedConflicts = Counter.builder("orders.optimistic.conflicts")
+            .tag("outcome", "retried")
+            .register(meterRegistry);
+        this.exhaustedConflicts = Counter.builder("orders.optimistic.conflicts")
+            .tag("outcome", "exhausted")
+            .register(meterRegistry);
+    }
+
+    public Order transitionOrder(UUID orderId, Order.OrderStatus target) {
+        return withOptimisticRetry(() -> {
+            Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
+            order.transitionTo(target);
+            return order;
+        });
+    }
+
+    public Payment transitionPayment(UUID paymentId, Payment.PaymentStatus target) {
+        return withOptimisticRetry(() -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new EntityNotFoundException("Payment not found: " + paymentId));
+            payment.transitionTo(target);
+            return payment;
+        });
+    }
+
+    public Shipment transitionShipment(UUID shipmentId, Shipment.ShipmentStatus target) {
+        return withOptimisticRetry(() -> {
+            Shipment shipment = shipmentRepository.findById(shipmentId)
+                .orElseThrow(() -> new EntityNotFoundException("Shipment not found: " + shipmentId));
+            shipment.transitionTo(target);
+            return shipment;
+        });
+    }
+
+    /**
+     * Marks a Stripe payment as successful and its order as paid. Safe to call again
+     * for a replayed webhook.
+     */
+    public Payment confirmPayment(String stripePaymentId) {
+        return withOptimisticRetry(() -> {
+            Payment payment = paymentRepository.findByStripePaymentId(stripePaymentId)
+                .orElseThrow(() -> new EntityNotFoundException("Payment not found: " + stripePaymentId));
+            payment.transitionTo(Payment.PaymentStatus.SUCCESS);
+            Order order = payment.getOrder();
+            if (order != null && order.getStatus() == Order.OrderStatus.PENDING) {
+                order.transitionTo(Order.OrderStatus.PAID);
+            }
+            return payment;
+        });
+    }
+
+    private <T> T withOptimisticRetry(Supplier<T> change) {
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+            "Optimistic retries need their own transaction per attempt; call outside of a transaction");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhaustedConflicts.increment();
+                    throw e;
+                }
+                retriedConflicts.increment();
+                log.debug("Version conflict on attempt {}, retrying", attempt);
+                long ceiling = BASE_BACKOFF_NANOS << Math.min(attempt, 6);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling));
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.AutocompleteSuggestion;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie.Footprint;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie.Kind;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie.Suggestion;
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductChangedEvent;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductsImportedEvent;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.TitleView;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.UnitsSoldView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Search-as-you-type over active product titles and categories. The whole index
+ * lives in memory: it is built from the database at startup, kept current from
+ * {@link ProductChangedEvent}s after each commit, and rebuilt periodically so the
+ * units-sold ranking follows new orders.
+ */
+@Service
+@Slf4j
+public class ProductAutocompleteService {
+
+    private static final String PRODUCT_KEY_PREFIX = "p:";
+    private static final String CATEGORY_KEY_PREFIX = "c:";
+    // Orders that were paid and not cancelled or refunded count towards the ranking
+    private static final Set<Order.OrderStatus> SOLD_STATUSES = EnumSet.of(
+        Order.OrderStatus.PAID,
+        Order.OrderStatus.PROCESSING,
+        Order.OrderStatus.SHIPPED,
+        Order.OrderStatus.DELIVERED
+    );
+
+    private final ProductRepository productRepository;
+    private final int maxSuggestions;
+    private final Timer lookupTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicReference<Footprint> footprint =
+        new AtomicReference<>(new Footprint(0, 0, 0));
+
+    // Guarded by lock
+    private CatalogIndex index;
+    private List<ProductChangedEvent> pendingDuringRebuild;
+    private boolean rebuildRequested;
+
+    public ProductAutocompleteService(
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.productRepository = productRepository;
+        this.maxSuggestions = maxSuggestions;
+        this.index = new CatalogIndex(maxSuggestions, Map.of());
+        this.lookupTimer = Timer.builder("autocomplete.lookup")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("autocomplete.index.nodes", footprint, f -> f.get().nodes()).register(meterRegistry);
+        Gauge.builder("autocomplete.index.suggestions", footprint, f -> f.get().suggestions()).register(meterRegistry);
+        Gauge.builder("autocomplete.index.bytes", footprint, f -> f.get().estimatedBytes())
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public List<AutocompleteSuggestion> suggest(String query, int limit) {
+        long start = System.nanoTime();
+        List<Suggestion> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.trie.suggest(query, Math.min(limit, maxSuggestions));
+        } finally {
+            lock.readLock().unlock();
+        }
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matches.stream().map(ProductAutocompleteService::toDto).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.autocomplete.rebuild-cron:0 15 * * * *}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                // The running rebuild may have read past this change already; it goes once more
+                rebuildRequested = true;
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean again;
+        do {
+            again = rebuildOnce();
+        } while (again);
+    }
+
+    /**
+     * @return whether another rebuild was requested while this one was running
+     */
+    private boolean rebuildOnce() {
+        CatalogIndex rebuilt = null;
+        boolean again;
+        long start = System.nanoTime();
+        try {
+            Map<UUID, Long> unitsSold = new HashMap<>();
+            for (UnitsSoldView view : productRepository.findUnitsSold(SOLD_STATUSES)) {
+                unitsSold.put(view.getProductId(), view.getUnitsSold() != null ? view.getUnitsSold() : 0L);
+            }
+            rebuilt = new CatalogIndex(maxSuggestions, unitsSold);
+            rebuilt.trie.startBulkLoad();
+            for (TitleView product : productRepository.findActiveTitles()) {
+                rebuilt.put(product.getId(), product.getTitle(), product.getCategory());
+            }
+            rebuilt.trie.finishBulkLoad();
+        } catch (RuntimeException e) {
+            rebuilt = null;
+            log.error("Autocomplete index rebuild failed, keeping the previous index", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    // Changes committed while we were reading are replayed on top of the snapshot
+                    for (ProductChangedEvent event : pendingDuringRebuild) {
+                        rebuilt.apply(event);
+                    }
+                    index = rebuilt;
+                }
+                again = rebuildRequested;
+                rebuildRequested = false;
+                pendingDuringRebuild = again ? new ArrayList<>() : null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (rebuilt != null) {
+            Footprint current = refreshFootprint();
+            log.info("Autocomplete index rebuilt in {} ms: {} suggestions, {} nodes, ~{} KiB",
+                (System.nanoTime() - start) / 1_000_000, current.suggestions(), current.nodes(),
+                current.estimatedBytes() / 1024);
+        }
+        return again;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        // Bulk imports write over JDBC without entity events, so reload everything
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void publishFootprint() {
+        refreshFootprint();
+    }
+
+    private Footprint refreshFootprint() {
+        Footprint current;
+        lock.readLock().lock();
+        try {
+            current = index.trie.footprint();
+        } finally {
+            lock.readLock().unlock();
+        }
+        footprint.set(current);
+        return current;
+    }
+
+    private static AutocompleteSuggestion toDto(Suggestion suggestion) {
+        if (suggestion.kind() == Kind.PRODUCT) {
+            return new AutocompleteSuggestion(suggestion.text(), "product",
+                UUID.fromString(suggestion.key().substring(PRODUCT_KEY_PREFIX.length())));
+        }
+        return new AutocompleteSuggestion(suggestion.text(), "category", null);
+    }
+
+    /**
+     * Trie plus the bookkeeping needed to maintain category weights incrementally:
+     * a category is ranked by the units sold of its active products and disappears
+     * with its last one.
+     */
+    private static final class CatalogIndex {
+
+        private final SuggestionTrie trie;
+        private final Map<UUID, Long> unitsSold;
+        private final Map<UUID, String> productCategories = new HashMap<>();
+        private final Map<String, CategoryStats> categories = new HashMap<>();
+
+        CatalogIndex(int topK, Map<UUID, Long> unitsSold) {
+            this.trie = new SuggestionTrie(topK);
+            this.unitsSold = unitsSold;
+        }
+
+        void apply(ProductChangedEvent event) {
+            if (event.isVisible()) {
+                put(event.productId(), event.title(), event.category());
+            } else {
+                remove(event.productId());
+            }
+        }
+
+        void put(UUID productId, String title, String category) {
+            remove(productId);
+            long weight = unitsSold.getOrDefault(productId, 0L);
+            trie.put(PRODUCT_KEY_PREFIX + productId, title, Kind.PRODUCT, weight);
+            if (category == null || category.isBlank()) {
+                return;
+            }
+            productCategories.put(productId, category);
+            CategoryStats stats = categories.computeIfAbsent(category, c -> new CategoryStats());
+            stats.products++;
+            stats.unitsSold += weight;
+            trie.put(categoryKey(category), category, Kind.CATEGORY, stats.unitsSold);
+        }
+
+        void remove(UUID productId) {
+            trie.remove(PRODUCT_KEY_PREFIX + productId);
+            String category = productCategories.remove(productId);
+            if (category == null) {
+                return;
+            }
+            CategoryStats stats = categories.get(category);
+            stats.products--;
+            stats.unitsSold -= unitsSold.getOrDefault(productId, 0L);
+            if (stats.products == 0) {
+                categories.remove(category);
+                trie.remove(categoryKey(category));
+            } else {
+                trie.put(categoryKey(category), category, Kind.CATEGORY, stats.unitsSold);
+            }
+        }
+
+        private static String categoryKey(String category) {
+            return CATEGORY_KEY_PREFIX + category;
+        }
+    }
+
+    private static final class CategoryStats {
+        private int products;
+        private long unitsSold;
+    }
+}
@@ -0,0 +1,102 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus.State;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+class ProductImportJob {
+
+    enum Format {
+        CSV,
+        JSON
+    }
+
+    private final UUID id;
+    private final UUID sellerId;
+    private final String fileName;
+    private final Format format;
+    private final Path uploadFile;
+    private final Path errorFile;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsDuplicated = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureReason;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+
+    ProductImportJob(UUID id, UUID sellerId, String fileName, Format format, Path uploadFile, Path errorFile) {
+        this.id = id;
+        this.sellerId = sellerId;
+        this.fileName = fileName;
+        this.format = format;
+        this.uploadFile = uploadFile;
+        this.errorFile = errorFile;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    void fail(String reason) {
+        finish(State.FAILED, reason);
+    }
+
+    private void finish(State finalState, String reason) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        failureReason = reason;
+        state = finalState;
+    }
+
+    boolean isFinishedBefore(LocalDateTime threshold) {
+        return finishedAt != null && finishedAt.isBefore(threshold);
+    }
+
+    ProductImportStatus toStatus() {
+        return new ProductImportStatus(
+            id,
+            sellerId,
+            fileName,
+            state,
+            rowsRead.get(),
+            rowsImported.get(),
+            rowsDuplicated.get(),
+            rowsFailed.get(),
+            rowsPerSecond(),
+            failureReason,
+            rowsFailed.get() > 0,
+            submittedAt,
+            startedAt,
+            finishedAt
+        );
+    }
+
+    private double rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        long end = finishedAt != null ? finishedNanos : System.nanoTime();
+        long elapsedMillis = Duration.ofNanos(end - startedNanos).toMillis();
+        return elapsedMillis > 0 ? rowsRead.get() * 1000.0 / elapsedMillis : 0;
+    }
+}
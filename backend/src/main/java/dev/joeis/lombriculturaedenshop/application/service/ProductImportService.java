@@ -0,0 +1,380 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportRow;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductsImportedEvent;
+import dev.joeis.lombriculturaedenshop.infrastructure.importer.CsvProductRowReader;
+import dev.joeis.lombriculturaedenshop.infrastructure.importer.JsonProductRowReader;
+import dev.joeis.lombriculturaedenshop.infrastructure.importer.ProductRowReader;
+import dev.joeis.lombriculturaedenshop.infrastructure.importer.RawProductRow;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ProductBatchWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk catalog import for sellers. Uploads are spooled to disk and processed on a
+ * dedicated executor: rows are streamed from the file, validated in parallel one
+ * batch at a time and upserted by seller SKU, so memory stays bounded by the batch
+ * size regardless of the file size.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String ERROR_FILE_HEADER = "line,sku,error";
+    private static final int MAX_SKU_LENGTH = 100;
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 8;
+    private static final long FINISHED_JOB_RETENTION_HOURS = 24;
+
+    private final ProductBatchWriter batchWriter;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path workDirectory;
+    private final int batchSize;
+    private final ForkJoinPool validationPool;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final Map<UUID, ProductImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(
+            ProductBatchWriter batchWriter,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${application.product-import.work-directory}") String workDirectory,
+            @Value("${application.product-import.batch-size:1000}") int batchSize,
+            @Value("${application.product-import.validation-parallelism:4}") int validationParallelism,
+            @Value("${application.product-import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.batchWriter = batchWriter;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.workDirectory = Paths.get(workDirectory).toAbsolutePath();
+        this.batchSize = batchSize;
+        this.validationPool = new ForkJoinPool(validationParallelism);
+        this.jobExecutor = new ThreadPoolTaskExecutor();
+        this.jobExecutor.setCorePoolSize(maxConcurrentJobs);
+        this.jobExecutor.setMaxPoolSize(maxConcurrentJobs);
+        this.jobExecutor.setQueueCapacity(maxConcurrentJobs * 10);
+        this.jobExecutor.setThreadNamePrefix("product-import-");
+        this.jobExecutor.initialize();
+    }
+
+    public ProductImportStatus submit(User seller, MultipartFile file) throws IOException {
+        if (seller.getRole() != User.UserRole.SELLER) {
+            throw new IllegalArgumentException("Only sellers can import products");
+        }
+        ProductImportJob.Format format = detectFormat(file);
+        evictFinishedJobs();
+
+        UUID jobId = UUID.randomUUID();
+        Files.createDirectories(workDirectory);
+        Path uploadFile = workDirectory.resolve(jobId + "." + format.name().toLowerCase(Locale.ROOT));
+        Path errorFile = workDirectory.resolve(jobId + "-errors.csv");
+        file.transferTo(uploadFile);
+
+        ProductImportJob job = new ProductImportJob(
+            jobId, seller.getId(), file.getOriginalFilename(), format, uploadFile, errorFile);
+        jobs.put(jobId, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(jobId);
+            Files.deleteIfExists(uploadFile);
+            throw new IllegalStateException("Too many imports in progress, try again later", e);
+        }
+        return job.toStatus();
+    }
+
+    public Optional<ProductImportStatus> getStatus(UUID jobId, UUID sellerId) {
+        return findJob(jobId, sellerId).map(ProductImportJob::toStatus);
+    }
+
+    public Optional<Path> getErrorFile(UUID jobId, UUID sellerId) {
+        return findJob(jobId, sellerId)
+            .map(ProductImportJob::getErrorFile)
+            .filter(Files::exists);
+    }
+
+    private Optional<ProductImportJob> findJob(UUID jobId, UUID sellerId) {
+        return Optional.ofNullable(jobs.get(jobId))
+            .filter(job -> job.getSellerId().equals(sellerId));
+    }
+
+    private void run(ProductImportJob job) {
+        job.start();
+        try (ProductRowReader reader = openReader(job);
+             BufferedWriter errors = Files.newBufferedWriter(job.getErrorFile(), StandardCharsets.UTF_8)) {
+            errors.write(ERROR_FILE_HEADER);
+            errors.newLine();
+
+            List<RawProductRow> batch = new ArrayList<>(batchSize);
+            RawProductRow row;
+            while ((row = reader.next()) != null) {
+                batch.add(row);
+                job.getRowsRead().incrementAndGet();
+                if (batch.size() == batchSize) {
+                    processBatch(job, batch, errors);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                processBatch(job, batch, errors);
+            }
+            job.complete();
+            log.info("Product import {} finished: {} imported, {} duplicates overwritten, {} failed",
+                job.getId(), job.getRowsImported().get(), job.getRowsDuplicated().get(), job.getRowsFailed().get());
+        } catch (Exception e) {
+            log.error("Product import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(job.getUploadFile());
+            if (job.getRowsFailed().get() == 0) {
+                deleteQuietly(job.getErrorFile());
+            }
+            long rowsImported = job.getRowsImported().get();
+            if (rowsImported > 0) {
+                eventPublisher.publishEvent(new ProductsImportedEvent(job.getId(), job.getSellerId(), rowsImported));
+            }
+        }
+    }
+
+    private ProductRowReader openReader(ProductImportJob job) throws IOException {
+        return switch (job.getFormat()) {
+            case CSV -> new CsvProductRowReader(new InputStreamReader(
+                Files.newInputStream(job.getUploadFile()), StandardCharsets.UTF_8));
+            case JSON -> new JsonProductRowReader(
+                objectMapper.getFactory(), Files.newInputStream(job.getUploadFile()));
+        };
+    }
+
+    private void processBatch(ProductImportJob job, List<RawProductRow> batch, BufferedWriter errors)
+            throws IOException, InterruptedException, ExecutionException {
+        List<RowValidation> validations = validationPool
+            .submit(() -> batch.parallelStream().map(this::validate).toList())
+            .get();
+
+        // Postgres rejects a multi-row upsert touching the same key twice, so the last
+        // occurrence of a SKU within a batch wins and the earlier ones count as duplicates.
+        Map<String, ProductImportRow> rowsBySku = new LinkedHashMap<>();
+        long validCount = 0;
+        for (RowValidation validation : validations) {
+            if (validation.error() != null) {
+                writeError(errors, validation.raw().lineNumber(), validation.raw().get("sku"), validation.error());
+                job.getRowsFailed().incrementAndGet();
+            } else {
+                rowsBySku.put(validation.row().sku(), validation.row());
+                validCount++;
+            }
+        }
+        if (rowsBySku.isEmpty()) {
+            return;
+        }
+        job.getRowsDuplicated().addAndGet(validCount - rowsBySku.size());
+        upsert(job, new ArrayList<>(rowsBySku.values()), errors);
+    }
+
+    /**
+     * Writes the rows in one batch. If the database rejects it, the batch is split in
+     * halves and retried so that only the offending rows end up in the error file.
+     */
+    private void upsert(ProductImportJob job, List<ProductImportRow> rows, BufferedWriter errors) throws IOException {
+        try {
+            batchWriter.upsert(job.getSellerId(), rows);
+            job.getRowsImported().addAndGet(rows.size());
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                ProductImportRow row = rows.get(0);
+                writeError(errors, row.lineNumber(), row.sku(),
+                    "Rejected by database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                job.getRowsFailed().incrementAndGet();
+                return;
+            }
+            int middle = rows.size() / 2;
+            upsert(job, rows.subList(0, middle), errors);
+            upsert(job, rows.subList(middle, rows.size()), errors);
+        }
+    }
+
+    private RowValidation validate(RawProductRow raw) {
+        try {
+            String sku = required(raw, "sku", MAX_SKU_LENGTH);
+            String title = required(raw, "title", MAX_TITLE_LENGTH);
+            String category = optional(raw, "category", MAX_CATEGORY_LENGTH);
+            BigDecimal price = parsePrice(raw.get("price"));
+            int stock = parseStock(raw.get("stock"));
+            List<String> imageUrls = raw.get("imageurls") != null
+                ? Arrays.stream(raw.get("imageurls").split("\\|")).map(String::trim).filter(url -> !url.isEmpty()).toList()
+                : List.of();
+            ProductImportRow row = new ProductImportRow(
+                raw.lineNumber(),
+                sku,
+                title,
+                raw.get("description"),
+                price,
+                stock,
+                category,
+                imageUrls,
+                parseBoolean(raw.get("isactive"), true),
+                parseBoolean(raw.get("isfeatured"), false)
+            );
+            return new RowValidation(raw, row, null);
+        } catch (IllegalArgumentException e) {
+            return new RowValidation(raw, null, e.getMessage());
+        }
+    }
+
+    private static String required(RawProductRow raw, String field, int maxLength) {
+        String value = raw.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return checkLength(field, value, maxLength);
+    }
+
+    private static String optional(RawProductRow raw, String field, int maxLength) {
+        String value = raw.get(field);
+        return value != null ? checkLength(field, value, maxLength) : null;
+    }
+
+    private static String checkLength(String field, String value, int maxLength) {
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " exceeds " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price is not a number: " + value);
+        }
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        if (price.scale() > 2 || price.precision() - price.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("price must fit NUMERIC(10,2): " + value);
+        }
+        return price;
+    }
+
+    private static int parseStock(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            int stock = Integer.parseInt(value);
+            if (stock < 0) {
+                throw new IllegalArgumentException("stock must not be negative");
+            }
+            return stock;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("stock is not an integer: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value, boolean defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "si", "sí" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException("not a boolean: " + value);
+        };
+    }
+
+    private static ProductImportJob.Format detectFormat(MultipartFile file) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        String contentType = file.getContentType() != null ? file.getContentType() : "";
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return ProductImportJob.Format.CSV;
+        }
+        if (name.endsWith(".json") || contentType.startsWith("application/json")) {
+            return ProductImportJob.Format.JSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format, expected CSV or JSON");
+    }
+
+    private static void writeError(BufferedWriter errors, long line, String sku, String message) throws IOException {
+        errors.write(Long.toString(line));
+        errors.write(',');
+        errors.write(csvEscape(sku));
+        errors.write(',');
+        errors.write(csvEscape(message));
+        errors.newLine();
+    }
+
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(FINISHED_JOB_RETENTION_HOURS);
+        jobs.values().removeIf(job -> {
+            if (job.isFinishedBefore(threshold)) {
+                deleteQuietly(job.getErrorFile());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdown();
+        validationPool.shutdown();
+    }
+
+    private record RowValidation(RawProductRow raw, ProductImportRow row, String error) {
+    }
+}
@@ -0,0 +1,163 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.ParcelProfile;
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingQuoteKey;
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingRate;
+import dev.joeis.lombriculturaedenshop.application.exception.ShippingQuoteUnavailableException;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Address;
+import dev.joeis.lombriculturaedenshop.infrastructure.external.SkydropxShippingProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Caches carrier quotes per destination and parcel bucket.
+ * <ul>
+ *     <li>fresh entries (younger than {@code ttl}) are served directly;</li>
+ *     <li>stale entries within {@code stale-while-revalidate} are served while a refresh runs in the background;</li>
+ *     <li>concurrent lookups for the same key share a single outbound call;</li>
+ *     <li>if the carrier is slow or failing, the last known rates are used for up to {@code max-stale-if-error}.</li>
+ * </ul>
+ * Empty rate lists are returned to the caller but never cached.
+ */
+@Service
+@Slf4j
+public class ShippingQuoteService {
+
+    private enum Outcome {
+        HIT,
+        STALE,
+        MISS,
+        FALLBACK,
+        UNAVAILABLE
+    }
+
+    private final SkydropxShippingProvider provider;
+    private final long ttlNanos;
+    private final long staleWhileRevalidateNanos;
+    private final long maxStaleIfErrorNanos;
+    private final long waitTimeoutNanos;
+    private final Map<ShippingQuoteKey, CachedQuote> cache = new ConcurrentHashMap<>();
+    private final Map<ShippingQuoteKey, CompletableFuture<List<ShippingRate>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> lookups = new EnumMap<>(Outcome.class);
+
+    public ShippingQuoteService(
+            SkydropxShippingProvider provider,
+            MeterRegistry meterRegistry,
+            @Value("${application.skydropx.quote-cache.ttl:15m}") Duration ttl,
+            @Value("${application.skydropx.quote-cache.stale-while-revalidate:6h}") Duration staleWhileRevalidate,
+            @Value("${application.skydropx.quote-cache.max-stale-if-error:48h}") Duration maxStaleIfError,
+            @Value("${application.skydropx.quote-cache.wait-timeout:2s}") Duration waitTimeout) {
+        this.provider = provider;
+        this.ttlNanos = ttl.toNanos();
+        this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+        this.maxStaleIfErrorNanos = maxStaleIfError.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        for (Outcome outcome : Outcome.values()) {
+            lookups.put(outcome, Counter.builder("shipping.quote.lookups")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+        Gauge.builder("shipping.quote.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    public List<ShippingRate> getRates(Address destination, ParcelProfile parcel) {
+        return getRates(ShippingQuoteKey.of(destination, parcel));
+    }
+
+    public List<ShippingRate> getRates(ShippingQuoteKey key) {
+        CachedQuote cached = cache.get(key);
+        long now = System.nanoTime();
+        if (cached != null) {
+            long age = now - cached.fetchedAtNanos();
+            if (age < ttlNanos) {
+                return record(Outcome.HIT, cached.rates());
+            }
+            if (age < staleWhileRevalidateNanos) {
+                fetch(key);
+                return record(Outcome.STALE, cached.rates());
+            }
+        }
+
+        try {
+            return record(Outcome.MISS, fetch(key).get(waitTimeoutNanos, TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(key, cached, e);
+        } catch (ExecutionException e) {
+            return fallback(key, cached, e.getCause());
+        } catch (TimeoutException e) {
+            return fallback(key, cached, e);
+        }
+    }
+
+    private List<ShippingRate> fallback(ShippingQuoteKey key, CachedQuote cached, Throwable cause) {
+        if (cached != null && System.nanoTime() - cached.fetchedAtNanos() < maxStaleIfErrorNanos) {
+            log.warn("Carrier quote for {} unavailable, using last known rates: {}", key, cause.toString());
+            return record(Outcome.FALLBACK, cached.rates());
+        }
+        lookups.get(Outcome.UNAVAILABLE).increment();
+        throw new ShippingQuoteUnavailableException("Shipping rates are temporarily unavailable", cause);
+    }
+
+    private CompletableFuture<List<ShippingRate>> fetch(ShippingQuoteKey key) {
+        CompletableFuture<List<ShippingRate>> promise = new CompletableFuture<>();
+        CompletableFuture<List<ShippingRate>> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            provider.quote(key).defaultIfEmpty(List.of()).subscribe(
+                rates -> {
+                    // An empty answer is usually a carrier hiccup, not a route with no service;
+                    // caching it would hide every rate for that destination until it expires
+                    if (!rates.isEmpty()) {
+                        cache.put(key, new CachedQuote(rates, System.nanoTime()));
+                    }
+                    inFlight.remove(key, promise);
+                    promise.complete(rates);
+                },
+                error -> fail(key, promise, error)
+            );
+        } catch (RuntimeException e) {
+            // Building the request failed before anything was subscribed
+            fail(key, promise, e);
+        }
+        return promise;
+    }
+
+    private void fail(ShippingQuoteKey key, CompletableFuture<List<ShippingRate>> promise, Throwable error) {
+        inFlight.remove(key, promise);
+        promise.completeExceptionally(error);
+    }
+
+    private List<ShippingRate> record(Outcome outcome, List<ShippingRate> rates) {
+        lookups.get(outcome).increment();
+        return rates;
+    }
+
+    @Scheduled(fixedDelayString = "${application.skydropx.quote-cache.purge-interval:PT10M}")
+    void purgeExpired() {
+        long now = System.nanoTime();
+        long maxAge = Math.max(staleWhileRevalidateNanos, maxStaleIfErrorNanos);
+        cache.values().removeIf(quote -> now - quote.fetchedAtNanos() >= maxAge);
+    }
+
+    private record CachedQuote(List<ShippingRate> rates, long fetchedAtNanos) {
+    }
+}
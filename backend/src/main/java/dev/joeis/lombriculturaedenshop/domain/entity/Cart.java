@@ -1,5 +1,6 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -69,6 +70,26 @@ public class Cart {
         items.clear();
     }
 
+    public Money calculateTotal() {
+        // Same cents accumulation as Order#calculateTotal; lines without a product are skipped
+        long cents = 0;
+        Money first = null;
+        for (int i = 0; i < items.size(); i++) {
+            CartItem item = items.get(i);
+            if (item.getProduct() == null) {
+                continue;
+            }
+            Money price = item.getProduct().getPrice();
+            if (first == null) {
+                first = price;
+            } else {
+                first.requireSameCurrency(price);
+            }
+            cents = Math.addExact(cents, Math.multiplyExact(price.cents(), item.getQuantity()));
+        }
+        return first != null ? Money.ofCents(cents, first.currency()) : Money.ZERO;
+    }
+
     public int getTotalItems() {
         return items.stream()
             .mapToInt(CartItem::getQuantity)
@@ -1,5 +1,6 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -42,6 +43,10 @@ public class CartItem {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public Money getSubtotal() {
+        return product != null ? product.getPrice().times(quantity) : Money.ZERO;
+    }
+
     public void increaseQuantity(int amount) {
         this.quantity += amount;
     }
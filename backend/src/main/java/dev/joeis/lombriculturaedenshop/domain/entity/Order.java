@@ -1,22 +1,45 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
 import dev.joeis.lombriculturaedenshop.domain.valueobject.Address;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+    name = Order.DETAIL_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("payment"),
+        @NamedAttributeNode("shipment"),
+        @NamedAttributeNode(value = "items", subgraph = "items")
+    },
+    subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product"))
+)
+@NamedEntityGraph(
+    name = Order.SUMMARY_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("payment"),
+        @NamedAttributeNode("shipment")
+    }
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -25,6 +48,13 @@ import java.util.UUID;
 @Builder
 public class Order {
 
+    // Detail view: order, user, payment, shipment, items and their products in one select.
+    public static final String DETAIL_GRAPH = "Order.detail";
+
+    // List views: the to-one associations are joined so the inverse @OneToOne sides
+    // (payment, shipment) don't trigger a select per order; items load in batches.
+    public static final String SUMMARY_GRAPH = "Order.summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -44,7 +74,7 @@ public class Order {
     private OrderStatus status;
 
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "shipping_address", nullable = false, columnDefinition = "jsonb")
@@ -58,6 +88,7 @@ public class Order {
     private String notes;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
 
@@ -75,6 +106,10 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum OrderStatus {
         PENDING,
         PAID,
@@ -82,7 +117,23 @@ public class Order {
         SHIPPED,
         DELIVERED,
         CANCELLED,
-        REFUNDED
+        REFUNDED;
+
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(PAID, CANCELLED));
+            TRANSITIONS.put(PAID, EnumSet.of(PROCESSING, CANCELLED, REFUNDED));
+            TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, REFUNDED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED, REFUNDED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(REFUNDED, EnumSet.noneOf(OrderStatus.class));
+        }
+
+        public boolean canTransitionTo(OrderStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
     }
 
     public boolean isGuestOrder() {
@@ -107,17 +158,44 @@ public class Order {
         item.setOrder(null);
     }
 
-    public BigDecimal calculateTotal() {
-        return items.stream()
-            .map(OrderItem::getSubtotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money calculateTotal() {
+        // Accumulates raw cents so no intermediate Money is created per line
+        long cents = 0;
+        Money first = null;
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            Money price = item.getPrice();
+            if (first == null) {
+                first = price;
+            } else {
+                first.requireSameCurrency(price);
+            }
+            cents = Math.addExact(cents, Math.multiplyExact(price.cents(), item.getQuantity()));
+        }
+        return first != null ? Money.ofCents(cents, first.currency()) : Money.ZERO;
     }
 
     public boolean canBeCancelled() {
-        return status == OrderStatus.PENDING || status == OrderStatus.PAID;
+        return status != null && status.canTransitionTo(OrderStatus.CANCELLED);
     }
 
     public boolean canBeRefunded() {
-        return status == OrderStatus.PAID || status == OrderStatus.PROCESSING || status == OrderStatus.SHIPPED;
+        return status != null && status.canTransitionTo(OrderStatus.REFUNDED);
+    }
+
+    /**
+     * Moves the order to {@code target} if the transition table allows it.
+     *
+     * @return {@code false} if the order already had that status (e.g. a replayed webhook)
+     */
+    public boolean transitionTo(OrderStatus target) {
+        if (status == target) {
+            return false;
+        }
+        if (status == null || !status.canTransitionTo(target)) {
+            throw new IllegalStateException("Cannot change order status from " + status + " to " + target);
+        }
+        this.status = target;
+        return true;
     }
 }
@@ -1,5 +1,6 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -8,10 +9,12 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -29,14 +32,14 @@ public class Payment {
     private UUID id;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id")
+    @JoinColumn(name = "order_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Order order;
 
     @Column(name = "stripe_payment_id", unique = true, length = 255)
     private String stripePaymentId;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
@@ -58,11 +61,29 @@ public class Payment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum PaymentStatus {
         PENDING,
         SUCCESS,
         FAILED,
-        REFUNDED
+        REFUNDED;
+
+        private static final Map<PaymentStatus, Set<PaymentStatus>> TRANSITIONS = new EnumMap<>(PaymentStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(SUCCESS, FAILED));
+            // A failed attempt can be retried or succeed on a later confirmation
+            TRANSITIONS.put(FAILED, EnumSet.of(PENDING, SUCCESS));
+            TRANSITIONS.put(SUCCESS, EnumSet.of(REFUNDED));
+            TRANSITIONS.put(REFUNDED, EnumSet.noneOf(PaymentStatus.class));
+        }
+
+        public boolean canTransitionTo(PaymentStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
     }
 
     public boolean isSuccessful() {
@@ -70,6 +91,20 @@ public class Payment {
     }
 
     public boolean canBeRefunded() {
-        return status == PaymentStatus.SUCCESS;
+        return status != null && status.canTransitionTo(PaymentStatus.REFUNDED);
+    }
+
+    /**
+     * @return {@code false} if the payment already had that status
+     */
+    public boolean transitionTo(PaymentStatus target) {
+        if (status == target) {
+            return false;
+        }
+        if (status == null || !status.canTransitionTo(target)) {
+            throw new IllegalStateException("Cannot change payment status from " + status + " to " + target);
+        }
+        this.status = target;
+        return true;
     }
 }
@@ -1,20 +1,27 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
+import dev.joeis.lombriculturaedenshop.domain.event.ProductEntityListener;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@Table(name = "products", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_products_seller_sku", columnNames = {"seller_id", "sku"})
+})
+@EntityListeners({AuditingEntityListener.class, ProductEntityListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +37,9 @@ public class Product {
     @JoinColumn(name = "seller_id")
     private User seller;
 
+    @Column(length = 100)
+    private String sku;
+
     @Column(nullable = false, length = 255)
     private String title;
 
@@ -37,7 +47,7 @@ public class Product {
     private String description;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(nullable = false)
     @Builder.Default
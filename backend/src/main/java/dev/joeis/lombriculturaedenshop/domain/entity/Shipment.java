@@ -1,5 +1,6 @@
 package dev.joeis.lombriculturaedenshop.domain.entity;
 
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -8,11 +9,13 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -30,7 +33,7 @@ public class Shipment {
     private UUID id;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id")
+    @JoinColumn(name = "order_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Order order;
 
     @Column(name = "tracking_number", length = 255)
@@ -50,7 +53,7 @@ public class Shipment {
     private LocalDateTime actualDelivery;
 
     @Column(name = "shipping_cost", precision = 10, scale = 2)
-    private BigDecimal shippingCost;
+    private Money shippingCost;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
@@ -65,13 +68,33 @@ public class Shipment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum ShipmentStatus {
         PENDING,
         LABEL_CREATED,
         IN_TRANSIT,
         OUT_FOR_DELIVERY,
         DELIVERED,
-        FAILED
+        FAILED;
+
+        private static final Map<ShipmentStatus, Set<ShipmentStatus>> TRANSITIONS = new EnumMap<>(ShipmentStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(LABEL_CREATED, FAILED));
+            TRANSITIONS.put(LABEL_CREATED, EnumSet.of(IN_TRANSIT, FAILED));
+            TRANSITIONS.put(IN_TRANSIT, EnumSet.of(OUT_FOR_DELIVERY, DELIVERED, FAILED));
+            // Carriers report a return to the depot after a missed delivery attempt
+            TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(IN_TRANSIT, DELIVERED, FAILED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(ShipmentStatus.class));
+            TRANSITIONS.put(FAILED, EnumSet.noneOf(ShipmentStatus.class));
+        }
+
+        public boolean canTransitionTo(ShipmentStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
     }
 
     public boolean isDelivered() {
@@ -81,4 +104,18 @@ public class Shipment {
     public boolean isInTransit() {
         return status == ShipmentStatus.IN_TRANSIT || status == ShipmentStatus.OUT_FOR_DELIVERY;
     }
+
+    /**
+     * @return {@code false} if the shipment already had that status (e.g. a repeated tracking update)
+     */
+    public boolean transitionTo(ShipmentStatus target) {
+        if (status == target) {
+            return false;
+        }
+        if (status == null || !status.canTransitionTo(target)) {
+            throw new IllegalStateException("Cannot change shipment status from " + status + " to " + target);
+        }
+        this.status = target;
+        return true;
+    }
 }
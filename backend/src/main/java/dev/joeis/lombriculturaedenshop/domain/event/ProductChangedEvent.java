@@ -0,0 +1,27 @@
+package dev.joeis.lombriculturaedenshop.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a {@code Product} is inserted, updated or deleted through JPA.
+ * Listeners normally consume it after commit.
+ */
+public record ProductChangedEvent(
+    UUID productId,
+    String title,
+    String category,
+    boolean active,
+    boolean featured,
+    ChangeType changeType
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public boolean isVisible() {
+        return changeType != ChangeType.DELETED && active;
+    }
+}
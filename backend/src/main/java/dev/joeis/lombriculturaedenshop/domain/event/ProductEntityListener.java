@@ -0,0 +1,46 @@
+package dev.joeis.lombriculturaedenshop.domain.event;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductChangedEvent.ChangeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener for {@link Product}; Hibernate obtains it from the Spring context.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void created(Product product) {
+        publish(product, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void updated(Product product) {
+        publish(product, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void deleted(Product product) {
+        publish(product, ChangeType.DELETED);
+    }
+
+    private void publish(Product product, ChangeType changeType) {
+        eventPublisher.publishEvent(new ProductChangedEvent(
+            product.getId(),
+            product.getTitle(),
+            product.getCategory(),
+            Boolean.TRUE.equals(product.getIsActive()),
+            Boolean.TRUE.equals(product.getIsFeatured()),
+            changeType
+        ));
+    }
+}
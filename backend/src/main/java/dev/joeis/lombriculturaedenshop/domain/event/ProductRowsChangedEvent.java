@@ -0,0 +1,15 @@
+package dev.joeis.lombriculturaedenshop.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Published when the database reports a committed change to the products table,
+ * whichever instance or tool made it. {@code productId} is {@code null} when the
+ * change covered too many rows to list and everything should be treated as changed.
+ */
+public record ProductRowsChangedEvent(UUID productId) {
+
+    public boolean isAllProducts() {
+        return productId == null;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.joeis.lombriculturaedenshop.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Published after a bulk import wrote products directly over JDBC, bypassing the
+ * per-entity {@link ProductChangedEvent}s.
+ */
+public record ProductsImportedEvent(UUID jobId, UUID sellerId, long rowsImported) {
+}
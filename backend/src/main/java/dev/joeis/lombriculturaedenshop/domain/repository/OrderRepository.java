@@ -4,28 +4,51 @@ import dev.joeis.lombriculturaedenshop.domain.entity.Order;
 import dev.joeis.lombriculturaedenshop.domain.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    @EntityGraph(Order.DETAIL_GRAPH)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") UUID id);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
     Page<Order> findByUser(User user, Pageable pageable);
 
+    // Bounded by creation date so Postgres only scans the recent monthly partitions
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    Page<Order> findByUserAndCreatedAtAfter(User user, LocalDateTime since, Pageable pageable);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
     List<Order> findByGuestEmail(String guestEmail);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
     List<Order> findByGuestPhone(String guestPhone);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
     @Query("SELECT o FROM Order o WHERE o.guestEmail = :email OR o.guestPhone = :phone")
     List<Order> findGuestOrders(@Param("email") String email, @Param("phone") String phone);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    @Query(value = "SELECT o FROM Order o", countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Order> findAllSummaries(Pageable pageable);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
     Page<Order> findByStatus(Order.OrderStatus status, Pageable pageable);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    Page<Order> findByStatusAndCreatedAtAfter(Order.OrderStatus status, LocalDateTime since, Pageable pageable);
+
     @Query("SELECT o FROM Order o JOIN o.items oi WHERE oi.product.seller.id = :sellerId")
     Page<Order> findOrdersBySeller(@Param("sellerId") UUID sellerId, Pageable pageable);
 }
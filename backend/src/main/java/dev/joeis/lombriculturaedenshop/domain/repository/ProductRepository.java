@@ -1,5 +1,6 @@
 package dev.joeis.lombriculturaedenshop.domain.repository;
 
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
 import dev.joeis.lombriculturaedenshop.domain.entity.Product;
 import dev.joeis.lombriculturaedenshop.domain.entity.User;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,4 +32,35 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.isActive = true AND p.category IS NOT NULL")
     List<String> findAllCategories();
+
+    @Query("SELECT p.id AS id, p.title AS title, p.category AS category FROM Product p WHERE p.isActive = true")
+    List<TitleView> findActiveTitles();
+
+    @Query("SELECT oi.product.id AS productId, SUM(oi.quantity) AS unitsSold FROM OrderItem oi " +
+           "WHERE oi.product IS NOT NULL AND oi.order.status IN :statuses GROUP BY oi.product.id")
+    List<UnitsSoldView> findUnitsSold(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT p.category AS category, COUNT(p) AS products FROM Product p " +
+           "WHERE p.isActive = true AND p.category IS NOT NULL GROUP BY p.category")
+    List<CategoryCountView> countActiveByCategory();
+
+    interface TitleView {
+        UUID getId();
+
+        String getTitle();
+
+        String getCategory();
+    }
+
+    interface UnitsSoldView {
+        UUID getProductId();
+
+        Long getUnitsSold();
+    }
+
+    interface CategoryCountView {
+        String getCategory();
+
+        Long getProducts();
+    }
 }
@@ -1,5 +1,7 @@
 package dev.joeis.lombriculturaedenshop.domain.valueobject;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +13,8 @@ import java.io.Serializable;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Rows written before the derived getters were ignored still carry "fullAddress" and "complete"
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Address implements Serializable {
 
     private String street;
@@ -20,6 +24,7 @@ public class Address implements Serializable {
     private String country;
     private String additionalInfo;
 
+    @JsonIgnore
     public String getFullAddress() {
         return String.format("%s, %s, %s %s, %s",
             street != null ? street : "",
@@ -30,6 +35,7 @@ public class Address implements Serializable {
         ).replaceAll(",\\s*,", ",").trim();
     }
 
+    @JsonIgnore
     public boolean isComplete() {
         return street != null && !street.isBlank() &&
                city != null && !city.isBlank() &&
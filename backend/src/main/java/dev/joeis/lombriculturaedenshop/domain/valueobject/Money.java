@@ -0,0 +1,95 @@
+package dev.joeis.lombriculturaedenshop.domain.valueobject;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Monetary amount stored as a whole number of cents. Arithmetic works on the
+ * {@code long} directly and overflows fail loudly instead of wrapping. Only
+ * currencies with two decimal places are supported, which matches the
+ * {@code NUMERIC(10,2)} columns.
+ */
+public record Money(long cents, Currency currency) implements Comparable<Money>, Serializable {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("MXN");
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private static final int SCALE = 2;
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() != SCALE) {
+            throw new IllegalArgumentException("Unsupported currency " + currency.getCurrencyCode());
+        }
+    }
+
+    public static Money ofCents(long cents) {
+        return new Money(cents, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofCents(long cents, Currency currency) {
+        return new Money(cents, currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(), currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(cents, other.cents), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(cents, other.cents), currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(cents, quantity), currency);
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Amount in the smallest currency unit, as expected by the Stripe API.
+     */
+    public long toStripeAmount() {
+        return cents;
+    }
+
+    public void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                "Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode());
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
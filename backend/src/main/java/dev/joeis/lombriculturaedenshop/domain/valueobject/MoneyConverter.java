@@ -0,0 +1,32 @@
+package dev.joeis.lombriculturaedenshop.domain.valueobject;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} to the existing {@code NUMERIC(10,2)} amount columns. The
+ * schema has no currency column, so amounts are read back in
+ * {@link Money#DEFAULT_CURRENCY}. Marked immutable so Hibernate snapshots values by
+ * reference instead of copying them through serialization.
+ */
+@Converter(autoApply = true)
+@Immutable
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        Money.ZERO.requireSameCurrency(money);
+        return money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.of(amount) : null;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ReadWriteRoutingDataSource;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ReadWriteRoutingDataSource.Route;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ReadYourWritesStatementInspector;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ReadYourWritesTracker;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Optional primary/replica split. When {@code application.datasource.replica.enabled}
+ * is set, read-only transactions (including Spring Data's default read-only finders)
+ * run against a separate replica pool, except for users whose transaction changed
+ * data within the read-your-writes window. Each pool is registered under its own
+ * name so Hikari metrics are reported as {@code pool=primary} and {@code pool=replica}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("application.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${application.datasource.replica.url}") String url,
+            @Value("${application.datasource.replica.username}") String username,
+            @Value("${application.datasource.replica.password}") String password,
+            DataSourceProperties primaryProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${application.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer readYourWritesStatementInspectorCustomizer(
+            ReadYourWritesTracker readYourWritesTracker) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+            new ReadYourWritesStatementInspector(readYourWritesTracker));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(readYourWritesTracker);
+        routingDataSource.setTargetDataSources(Map.of(
+            Route.PRIMARY, primaryDataSource,
+            Route.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
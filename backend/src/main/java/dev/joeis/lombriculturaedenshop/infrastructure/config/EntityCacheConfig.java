@@ -0,0 +1,60 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions. Entity and query regions expire after
+ * {@code max-staleness}, which bounds how long an instance can serve a stale row if
+ * it misses an invalidation from {@code EntityCacheInvalidationListener}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EntityCacheConfig {
+
+    public static final List<String> ENTITY_REGIONS = List.of("users", "products");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${application.entity-cache.max-staleness:60s}") Duration maxStaleness,
+            @Value("${application.entity-cache.max-entries:10000}") long maxEntries) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>();
+        bounded.setMaximumSize(OptionalLong.of(maxEntries));
+        bounded.setExpireAfterWrite(OptionalLong.of(maxStaleness.toNanos()));
+        for (String region : ENTITY_REGIONS) {
+            createIfMissing(cacheManager, region, bounded);
+        }
+        createIfMissing(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded);
+        // One entry per table; evicting them would let cached queries skip invalidation
+        createIfMissing(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static void createIfMissing(CacheManager cacheManager, String name,
+                                        CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+}
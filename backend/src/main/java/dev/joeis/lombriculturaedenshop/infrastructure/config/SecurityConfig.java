@@ -0,0 +1,36 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Opens the read-only catalog routes to anonymous visitors and crawlers. Everything
+ * else keeps Spring Boot's default protection (form login and HTTP basic).
+ */
+@Configuration
+public class SecurityConfig {
+
+    private static final String[] PUBLIC_CATALOG_ROUTES = {
+        "/api/catalog",
+        "/api/catalog/**",
+        "/api/products",
+        "/api/products/**",
+        "/sitemap.xml"
+    };
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .authorizeHttpRequests(requests -> requests
+                .requestMatchers(HttpMethod.GET, PUBLIC_CATALOG_ROUTES).permitAll()
+                .requestMatchers(HttpMethod.HEAD, PUBLIC_CATALOG_ROUTES).permitAll()
+                .anyRequest().authenticated())
+            .formLogin(Customizer.withDefaults())
+            .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+}
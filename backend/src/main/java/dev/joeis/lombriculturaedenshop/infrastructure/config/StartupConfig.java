@@ -0,0 +1,57 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Startup tuning for the {@code fast-startup} profile: rarely used infrastructure
+ * (API docs, mail) is made lazy so it is only built when first requested.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyRarelyUsedBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+            .bind("application.startup.lazy-bean-prefixes", Bindable.listOf(String.class))
+            .orElse(List.of());
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (!definition.isLazyInit() && matches(beanFactory, definition, prefixes)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean matches(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition,
+                                   List<String> prefixes) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getResolvableType().resolve() != null) {
+            className = definition.getResolvableType().resolve().getName();
+        }
+        String declaringClassName = null;
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            declaringClassName = beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        for (String prefix : prefixes) {
+            if ((className != null && className.startsWith(prefix))
+                    || (declaringClassName != null && declaringClassName.startsWith(prefix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
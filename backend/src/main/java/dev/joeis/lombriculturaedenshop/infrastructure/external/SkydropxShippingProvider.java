@@ -0,0 +1,80 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingQuoteKey;
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingRate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SkydropxShippingProvider {
+
+    private final WebClient webClient;
+    private final String originPostalCode;
+    private final Duration timeout;
+
+    public SkydropxShippingProvider(
+            WebClient.Builder webClientBuilder,
+            @Value("${application.skydropx.api-url}") String apiUrl,
+            @Value("${application.skydropx.api-key}") String apiKey,
+            @Value("${application.skydropx.origin-postal-code}") String originPostalCode,
+            @Value("${application.skydropx.timeout:3s}") Duration timeout) {
+        this.webClient = webClientBuilder
+            .baseUrl(apiUrl)
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Token token=" + apiKey)
+            .build();
+        this.originPostalCode = originPostalCode;
+        this.timeout = timeout;
+    }
+
+    public Mono<List<ShippingRate>> quote(ShippingQuoteKey key) {
+        Map<String, Object> request = Map.of(
+            "zip_from", originPostalCode,
+            "zip_to", key.postalCode(),
+            "parcel", Map.of(
+                "weight", key.weightBucketGrams() / 1000.0,
+                "length", key.lengthBucketCm(),
+                "width", key.widthBucketCm(),
+                "height", key.heightBucketCm()
+            )
+        );
+        return webClient.post()
+            .uri("/quotations")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .retrieve()
+            .bodyToMono(JsonNode.class)
+            .map(SkydropxShippingProvider::toRates)
+            .timeout(timeout);
+    }
+
+    private static List<ShippingRate> toRates(JsonNode response) {
+        JsonNode rates = response.isArray() ? response : response.path("data");
+        List<ShippingRate> result = new ArrayList<>();
+        for (JsonNode rate : rates) {
+            JsonNode attributes = rate.has("attributes") ? rate.get("attributes") : rate;
+            JsonNode price = attributes.path("total_pricing");
+            if (price.isMissingNode() || price.isNull()) {
+                continue;
+            }
+            result.add(new ShippingRate(
+                attributes.path("provider").asText(null),
+                attributes.path("service_level_name").asText(null),
+                new BigDecimal(price.asText()),
+                attributes.path("currency_local").asText("MXN"),
+                attributes.hasNonNull("days") ? attributes.get("days").asInt() : null
+            ));
+        }
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Streams a top-level JSON array of product objects. Array values (e.g. {@code imageUrls})
+ * are flattened to the same {@code |}-separated form used by the CSV format.
+ */
+public class JsonProductRowReader implements ProductRowReader {
+
+    private final JsonParser parser;
+
+    public JsonProductRowReader(JsonFactory jsonFactory, InputStream input) throws IOException {
+        this.parser = jsonFactory.createParser(input);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of products");
+        }
+    }
+
+    @Override
+    public RawProductRow next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a product object at line " + parser.currentLocation().getLineNr());
+        }
+        long lineNumber = parser.currentTokenLocation().getLineNr();
+        Map<String, String> fields = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName().toLowerCase(Locale.ROOT);
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY) {
+                StringJoiner joiner = new StringJoiner("|");
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken().isScalarValue()) {
+                        joiner.add(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                fields.put(name, joiner.toString());
+            } else if (value == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                fields.put(name, parser.getText());
+            }
+        }
+        return new RawProductRow(lineNumber, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,16 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based reader over an uploaded catalog file. Implementations hold at most
+ * one row in memory so arbitrarily large uploads can be processed.
+ */
+public interface ProductRowReader extends Closeable {
+
+    /**
+     * @return the next row, or {@code null} once the input is exhausted
+     */
+    RawProductRow next() throws IOException;
+}
@@ -0,0 +1,11 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.importer;
+
+import java.util.Map;
+
+public record RawProductRow(long lineNumber, Map<String, String> fields) {
+
+    public String get(String name) {
+        String value = fields.get(name);
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+}
@@ -0,0 +1,270 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.domain.event.ProductRowsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Evicts second-level cache entries when any instance (or any other writer) changes a
+ * cached table. The triggers from db/cache-invalidation.sql publish row ids on commit;
+ * this listener holds one dedicated connection outside the pool and waits on
+ * {@code LISTEN}. Each id is evicted twice, the second time after {@code re-evict-delay},
+ * to drop values loaded by reads that overlapped the writing transaction. Cached query
+ * results are invalidated only for the changed table, through Hibernate's update
+ * timestamps, so a stock decrement doesn't drop cached user lookups. Whenever the
+ * connection is lost the caches are cleared, since notifications may have been missed.
+ * Product changes are also republished as {@link ProductRowsChangedEvent} for other
+ * per-instance copies of the catalog.
+ */
+@Component
+@Slf4j
+public class EntityCacheInvalidationListener implements SmartLifecycle {
+
+    private static final Map<String, Class<?>> CACHED_TABLES = Map.of(
+        "users", User.class,
+        "products", Product.class
+    );
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final String ALL_ROWS = "*";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final Duration reEvictDelay;
+    private final Map<String, Counter> invalidations = new HashMap<>();
+    private final Map<Class<?>, String[]> querySpaces = new HashMap<>();
+    private final Counter fullEvictions;
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+    private volatile Connection connection;
+    private SessionFactoryImplementor sessionFactory;
+    private Cache cache;
+
+    public EntityCacheInvalidationListener(
+            DataSourceProperties dataSourceProperties,
+            EntityManagerFactory entityManagerFactory,
+            TaskScheduler taskScheduler,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${application.entity-cache.channel:entity_cache_invalidation}") String channel,
+            @Value("${application.entity-cache.reconnect-delay:5s}") Duration reconnectDelay,
+            @Value("${application.entity-cache.re-evict-delay:1s}") Duration reEvictDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.reEvictDelay = reEvictDelay;
+        for (String table : CACHED_TABLES.keySet()) {
+            invalidations.put(table, Counter.builder("entity.cache.invalidations")
+                .tag("table", table)
+                .register(meterRegistry));
+        }
+        this.fullEvictions = Counter.builder("entity.cache.full.evictions").register(meterRegistry);
+        Gauge.builder("entity.cache.invalidation.listener.connected", connected, c -> c.get() ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.info("Entity cache invalidation disabled: {} is not a PostgreSQL URL", url);
+            return;
+        }
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        cache = sessionFactory.getCache();
+        for (Class<?> entityClass : CACHED_TABLES.values()) {
+            querySpaces.put(entityClass,
+                sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getSynchronizedQuerySpaces());
+        }
+        running = true;
+        Thread thread = new Thread(() -> listen(url), "entity-cache-invalidation");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(Duration.ofSeconds(VALIDATION_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        listenerThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    private void listen(String url) {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(url, connectionProperties())) {
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connection = listening;
+                connected.set(true);
+                log.info("Listening for entity cache invalidations on channel {}", channel);
+                // Anything written before LISTEN took effect was not seen
+                evictAll();
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    } else if (!listening.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                        throw new SQLException("Invalidation connection is no longer valid");
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Entity cache invalidation connection lost, reconnecting in {}: {}",
+                        reconnectDelay, e.getMessage());
+                }
+            } finally {
+                connection = null;
+                connected.set(false);
+            }
+
+            if (running) {
+                evictAll();
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", "entity-cache-invalidation");
+        properties.setProperty("tcpKeepAlive", "true");
+        return properties;
+    }
+
+    private void handle(String payload) {
+        int separator = payload != null ? payload.lastIndexOf(':') : -1;
+        if (separator < 0) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+            return;
+        }
+        String table = payload.substring(0, separator);
+        String id = payload.substring(separator + 1);
+        Class<?> entityClass = CACHED_TABLES.get(table);
+        if (entityClass == null) {
+            return;
+        }
+        try {
+            UUID entityId = ALL_ROWS.equals(id) ? null : UUID.fromString(id);
+            evict(entityClass, entityId);
+            invalidations.get(table).increment();
+            taskScheduler.schedule(() -> evict(entityClass, entityId), Instant.now().plus(reEvictDelay));
+            if (entityClass == Product.class) {
+                eventPublisher.publishEvent(new ProductRowsChangedEvent(entityId));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+        }
+    }
+
+    private void evict(Class<?> entityClass, Object id) {
+        if (id == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, id);
+        }
+        // Cached queries over this table (e.g. user by email) may reference the changed rows;
+        // the others are still valid
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            sessionFactory.getCache().getTimestampsCache()
+                .invalidate(querySpaces.get(entityClass), (SharedSessionContractImplementor) session);
+        }
+    }
+
+    private void evictAll() {
+        for (Class<?> entityClass : CACHED_TABLES.values()) {
+            cache.evictEntityData(entityClass);
+        }
+        cache.evictQueryRegions();
+        fullEvictions.increment();
+        eventPublisher.publishEvent(new ProductRowsChangedEvent(null));
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close invalidation connection", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import dev.joeis.lombriculturaedenshop.infrastructure.config.EntityCacheConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes hit, miss and put counts plus the hit ratio of each second-level cache
+ * region as {@code entity.cache.*}, tagged by region.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        List<String> regions = new ArrayList<>(EntityCacheConfig.ENTITY_REGIONS);
+        regions.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        for (String region : regions) {
+            counter(registry, "entity.cache.gets", region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, "entity.cache.gets", region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("entity.cache.puts", region, r -> count(r, CacheRegionStatistics::getPutCount))
+                .tag("region", region)
+                .register(registry);
+            Gauge.builder("entity.cache.hit.ratio", region, this::hitRatio)
+                .tag("region", region)
+                .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String region, String result,
+                         ToLongFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, region, r -> count(r, value))
+            .tag("region", region)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private double count(String region, ToLongFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics statistics = statistics(region);
+        return statistics != null ? value.applyAsLong(statistics) : 0;
+    }
+
+    private double hitRatio(String region) {
+        CacheRegionStatistics statistics = statistics(region);
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups > 0 ? (double) statistics.getHitCount() / lookups : Double.NaN;
+    }
+
+    private CacheRegionStatistics statistics(String region) {
+        // Resolved on every scrape so binding does not force the persistence unit to start early
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(region);
+    }
+}
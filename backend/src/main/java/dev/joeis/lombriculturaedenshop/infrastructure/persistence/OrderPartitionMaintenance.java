@@ -0,0 +1,55 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of orders and their children available ahead of time.
+ * Does nothing on databases where db/partitioning.sql has not been applied.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.orders.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.orders.partitioning.cron:0 0 3 * * *}")
+    public void createFuturePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        jdbcTemplate.query("SELECT create_order_partitions(CURRENT_DATE, ?)", rs -> { }, monthsAhead);
+        log.debug("Order partitions ensured for the next {} months", monthsAhead);
+    }
+
+    public int dropEmptyPartitionsBefore(LocalDate before) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        Integer dropped = jdbcTemplate.queryForObject("SELECT drop_empty_order_partitions(?)", Integer.class, before);
+        return dropped != null ? dropped : 0;
+    }
+
+    public boolean isPartitioned() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regprocedure('create_order_partitions(date,integer)') IS NOT NULL", Boolean.class));
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Upserts imported products with JDBC batching, keyed by {@code (seller_id, sku)}.
+ * Together with {@code reWriteBatchedInserts} the driver sends each batch as a
+ * handful of multi-row INSERT statements instead of one round trip per product.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductBatchWriter {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO products (id, seller_id, sku, title, description, price, stock, category,
+                              image_urls, is_active, is_featured, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())
+        ON CONFLICT (seller_id, sku) DO UPDATE SET
+            title = EXCLUDED.title,
+            description = EXCLUDED.description,
+            price = EXCLUDED.price,
+            stock = EXCLUDED.stock,
+            category = EXCLUDED.category,
+            image_urls = EXCLUDED.image_urls,
+            is_active = EXCLUDED.is_active,
+            is_featured = EXCLUDED.is_featured,
+            updated_at = now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void upsert(UUID sellerId, List<ProductImportRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductImportRow row = rows.get(i);
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, sellerId);
+                ps.setString(3, row.sku());
+                ps.setString(4, row.title());
+                ps.setString(5, row.description());
+                ps.setBigDecimal(6, row.price());
+                ps.setInt(7, row.stock());
+                ps.setString(8, row.category());
+                ps.setArray(9, ps.getConnection().createArrayOf("text", row.imageUrls().toArray()));
+                ps.setBoolean(10, row.active());
+                ps.setBoolean(11, row.featured());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Tells the {@link ReadYourWritesTracker} about every insert, update or delete Hibernate
+ * prepares, so only transactions that change data make the user sticky to the primary.
+ * Reads inside a default (read-write) transaction are not counted as writes.
+ */
+public class ReadYourWritesStatementInspector implements StatementInspector {
+
+    private static final String[] WRITE_KEYWORDS = {"insert", "update", "delete", "merge"};
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesStatementInspector(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (isWrite(sql)) {
+            readYourWritesTracker.registerWrite();
+        }
+        return sql;
+    }
+
+    static boolean isWrite(String sql) {
+        int start = 0;
+        while (start < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            } else if (sql.startsWith("/*", start)) {
+                // Hibernate prefixes statements with a comment when use_sql_comments is on
+                int end = sql.indexOf("*/", start + 2);
+                if (end < 0) {
+                    return false;
+                }
+                start = end + 2;
+            } else {
+                break;
+            }
+        }
+        for (String keyword : WRITE_KEYWORDS) {
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())
+                    && (start + keyword.length() == sql.length()
+                        || !Character.isLetterOrDigit(sql.charAt(start + keyword.length())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
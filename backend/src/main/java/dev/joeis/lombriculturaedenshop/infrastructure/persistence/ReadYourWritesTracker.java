@@ -0,0 +1,87 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently so their read-only work keeps
+ * going to the primary until the replica has had time to catch up. Guests are not
+ * tracked: they all share the anonymous principal, so one guest's write would pin
+ * every guest to the primary.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final Object transactionMarker = new Object();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Records a write for the current user once the surrounding transaction commits,
+     * or right away when there is no transaction.
+     */
+    public void registerWrite() {
+        String user = currentUser();
+        if (user == null || TransactionSynchronizationManager.hasResource(transactionMarker)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteByUser.put(user, System.nanoTime());
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(transactionMarker, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(user, System.nanoTime());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionMarker);
+            }
+        });
+    }
+
+    public boolean hasRecentWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWriteByUser.remove(user, lastWrite);
+        if (lastWriteByUser.size() > CLEANUP_THRESHOLD) {
+            long now = System.nanoTime();
+            lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || TRUST_RESOLVER.isAnonymous(authentication)) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,187 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bounds the number of concurrent requests per endpoint group so bursts (e.g. checkout
+ * during a flash sale) wait in a fair, bounded queue in front of the application
+ * instead of piling up on the connection pool, and are shed with {@code 503} plus
+ * {@code Retry-After} once the queue is full or the wait budget is spent. Requests
+ * outside the configured groups are never limited, so catalog reads keep their share
+ * of the pool.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final List<Limiter> limiters;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.limiters = properties.endpoints().stream()
+            .map(endpoint -> new Limiter(endpoint, meterRegistry))
+            .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limiter limiter = findLimiter(request);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Rejection rejection = limiter.acquire();
+        if (rejection != null) {
+            limiter.rejected(rejection);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(limiter.retryAfterSeconds));
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests, please retry shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private Limiter findLimiter(HttpServletRequest request) {
+        if (limiters.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Limiter limiter : limiters) {
+            if (limiter.matches(request.getMethod(), path)) {
+                return limiter;
+            }
+        }
+        return null;
+    }
+
+    private enum Rejection {
+        QUEUE_FULL,
+        TIMEOUT,
+        INTERRUPTED
+    }
+
+    private static final class Limiter {
+
+        private final String name;
+        private final Set<String> methods;
+        private final List<PathPattern> patterns;
+        private final Semaphore permits;
+        private final int maxQueue;
+        private final long maxWaitNanos;
+        private final long retryAfterSeconds;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+
+        Limiter(AdmissionControlProperties.Endpoint endpoint, MeterRegistry meterRegistry) {
+            this.name = endpoint.name();
+            this.methods = endpoint.methods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+            this.patterns = endpoint.patterns().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+            this.permits = new Semaphore(endpoint.maxConcurrent(), true);
+            this.maxQueue = endpoint.maxQueue();
+            this.maxWaitNanos = endpoint.maxWait().toNanos();
+            this.retryAfterSeconds = Math.max(1, endpoint.retryAfter().toSeconds());
+
+            Gauge.builder("admission.queue.depth", queued, AtomicInteger::get)
+                .tag("endpoint", name)
+                .description("Requests waiting for an admission slot")
+                .register(meterRegistry);
+            Gauge.builder("admission.in.flight", permits, semaphore -> endpoint.maxConcurrent() - semaphore.availablePermits())
+                .tag("endpoint", name)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+            this.waitTimer = Timer.builder("admission.wait")
+                .tag("endpoint", name)
+                .description("Time admitted requests spent queued")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            for (Rejection rejection : Rejection.values()) {
+                rejections.put(rejection, Counter.builder("admission.rejected")
+                    .tag("endpoint", name)
+                    .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                    .description("Requests shed by admission control")
+                    .register(meterRegistry));
+            }
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Rejection acquire() {
+            long start = System.nanoTime();
+            try {
+                // tryAcquire(0, ...) rather than tryAcquire() so arrivals never barge past queued requests
+                if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                    waitTimer.record(0, TimeUnit.NANOSECONDS);
+                    return null;
+                }
+                if (queued.incrementAndGet() > maxQueue) {
+                    queued.decrementAndGet();
+                    return Rejection.QUEUE_FULL;
+                }
+                try {
+                    if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                        return Rejection.TIMEOUT;
+                    }
+                } finally {
+                    queued.decrementAndGet();
+                }
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Rejection.INTERRUPTED;
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        void rejected(Rejection rejection) {
+            rejections.get(rejection).increment();
+            log.debug("Shed request for {} ({})", name, rejection);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("application.admission-control")
+public record AdmissionControlProperties(boolean enabled, List<Endpoint> endpoints) {
+
+    public AdmissionControlProperties {
+        endpoints = endpoints != null ? endpoints : List.of();
+    }
+
+    /**
+     * @param name          metric tag for the endpoint group
+     * @param methods       HTTP methods to limit; empty means all
+     * @param patterns      path patterns, e.g. {@code /api/orders/**}
+     * @param maxConcurrent requests allowed to run at once
+     * @param maxQueue      requests allowed to wait for a slot before new ones are shed
+     * @param maxWait       how long a queued request waits before it is shed
+     * @param retryAfter    value of the {@code Retry-After} header on shed requests
+     */
+    public record Endpoint(
+        String name,
+        List<String> methods,
+        List<String> patterns,
+        int maxConcurrent,
+        int maxQueue,
+        Duration maxWait,
+        Duration retryAfter
+    ) {
+
+        public Endpoint {
+            methods = methods != null ? methods : List.of();
+            patterns = patterns != null ? patterns : List.of();
+            maxWait = maxWait != null ? maxWait : Duration.ofSeconds(5);
+            retryAfter = retryAfter != null ? retryAfter : Duration.ofSeconds(2);
+        }
+    }
+}
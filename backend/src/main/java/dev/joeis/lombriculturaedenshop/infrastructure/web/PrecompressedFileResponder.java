@@ -0,0 +1,185 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.web;
+
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshot.SnapshotFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a pre-rendered file, picking the best precompressed variant the client
+ * accepts. The body is handed to Tomcat's sendfile support so it goes from the page
+ * cache to the socket without passing through the heap; on connectors without
+ * sendfile it falls back to {@link FileChannel#transferTo}.
+ */
+@Component
+public class PrecompressedFileResponder {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    enum Encoding {
+        BROTLI("br", SnapshotFile.BROTLI_SUFFIX),
+        GZIP("gzip", SnapshotFile.GZIP_SUFFIX),
+        IDENTITY("identity", "");
+
+        private final String token;
+        private final String suffix;
+
+        Encoding(String token, String suffix) {
+            this.token = token;
+            this.suffix = suffix;
+        }
+    }
+
+    private final String cacheControl;
+    private final Map<Encoding, Counter> responses = new EnumMap<>(Encoding.class);
+
+    public PrecompressedFileResponder(
+            MeterRegistry meterRegistry,
+            @Value("${application.catalog.snapshot.cache-control:public, max-age=60}") String cacheControl) {
+        this.cacheControl = cacheControl;
+        for (Encoding encoding : Encoding.values()) {
+            responses.put(encoding, Counter.builder("catalog.snapshot.responses")
+                .tag("encoding", encoding.token)
+                .register(meterRegistry));
+        }
+    }
+
+    public void serve(Path directory, SnapshotFile file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Encoding encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), file);
+        String etag = encoding == Encoding.IDENTITY
+            ? "\"" + file.etag() + "\""
+            : "\"" + file.etag() + "-" + encoding.token + "\"";
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = switch (encoding) {
+            case BROTLI -> file.brotliSize();
+            case GZIP -> file.gzipSize();
+            case IDENTITY -> file.size();
+        };
+        response.setContentType(file.contentType());
+        response.setCharacterEncoding("UTF-8");
+        if (encoding != Encoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token);
+        }
+        response.setContentLengthLong(length);
+        responses.get(encoding).increment();
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        Path path = directory.resolve(file.path() + encoding.suffix);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+
+    static Encoding negotiate(String acceptEncoding, SnapshotFile file) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Encoding.IDENTITY;
+        }
+        double brotli = 0;
+        double gzip = 0;
+        double wildcard = 0;
+        boolean brotliListed = false;
+        boolean gzipListed = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(tokens);
+            switch (coding) {
+                case "br" -> {
+                    brotli = quality;
+                    brotliListed = true;
+                }
+                case "gzip", "x-gzip" -> {
+                    gzip = quality;
+                    gzipListed = true;
+                }
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        // "*" only covers codings the client did not name, so "br;q=0, *" still refuses brotli
+        if (!brotliListed) {
+            brotli = wildcard;
+        }
+        if (!gzipListed) {
+            gzip = wildcard;
+        }
+        // Prefer brotli on equal weight since it is the smaller file
+        if (file.hasBrotli() && brotli > 0 && brotli >= gzip) {
+            return Encoding.BROTLI;
+        }
+        if (file.hasGzip() && gzip > 0) {
+            return Encoding.GZIP;
+        }
+        return file.hasBrotli() && brotli > 0 ? Encoding.BROTLI : Encoding.IDENTITY;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
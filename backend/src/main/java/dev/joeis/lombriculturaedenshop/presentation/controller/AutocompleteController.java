@@ -0,0 +1,28 @@
+package dev.joeis.lombriculturaedenshop.presentation.controller;
+
+import dev.joeis.lombriculturaedenshop.application.dto.AutocompleteSuggestion;
+import dev.joeis.lombriculturaedenshop.application.service.ProductAutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private static final int MAX_LIMIT = 10;
+
+    private final ProductAutocompleteService autocompleteService;
+
+    @GetMapping
+    public List<AutocompleteSuggestion> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.suggest(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
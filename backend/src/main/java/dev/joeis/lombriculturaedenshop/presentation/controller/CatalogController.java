@@ -0,0 +1,54 @@
+package dev.joeis.lombriculturaedenshop.presentation.controller;
+
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogCategory;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogPage;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogProduct;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogService;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshotService;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.CategoryCountView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live catalog queries. Same payloads as the {@code /api/catalog} snapshot endpoints,
+ * always current, but every request goes to the database.
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private final CatalogService catalogService;
+    private final CatalogSnapshotService snapshotService;
+
+    @GetMapping
+    public CatalogPage list(@RequestParam(defaultValue = "0") int page,
+                            @RequestParam(required = false) String category) {
+        return category == null || category.isBlank()
+            ? catalogService.getCatalogPage(page)
+            : catalogService.getCategoryPage(category, page);
+    }
+
+    @GetMapping("/featured")
+    public List<CatalogProduct> featured() {
+        return catalogService.getFeatured();
+    }
+
+    @GetMapping("/categories")
+    public List<CatalogCategory> categories() {
+        List<CategoryCountView> counts = catalogService.getCategoryCounts();
+        Map<String, String> slugs = snapshotService.categorySlugs(
+            counts.stream().map(CategoryCountView::getCategory).toList());
+        return counts.stream()
+            .map(view -> new CatalogCategory(view.getCategory(), slugs.get(view.getCategory()), view.getProducts()))
+            .sorted(Comparator.comparing(CatalogCategory::name))
+            .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package dev.joeis.lombriculturaedenshop.presentation.controller;
+
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshot;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshot.SnapshotFile;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshotService;
+import dev.joeis.lombriculturaedenshop.infrastructure.web.PrecompressedFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Anonymous catalog endpoints served from the pre-rendered snapshot. Nothing here
+ * reads the database; {@code /api/products} is the dynamic equivalent.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CatalogSnapshotController {
+
+    private static final Pattern SLUG = Pattern.compile("[a-z0-9-]{1,150}");
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final CatalogSnapshotService snapshotService;
+    private final PrecompressedFileResponder responder;
+
+    @GetMapping("/api/catalog")
+    public void catalog(@RequestParam(defaultValue = "0") int page,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(CatalogSnapshotService.catalogPagePath(page), request, response);
+    }
+
+    @GetMapping("/api/catalog/featured")
+    public void featured(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(CatalogSnapshotService.FEATURED, request, response);
+    }
+
+    @GetMapping("/api/catalog/categories")
+    public void categories(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(CatalogSnapshotService.CATEGORIES, request, response);
+    }
+
+    @GetMapping("/api/catalog/categories/{slug}")
+    public void category(@PathVariable String slug, @RequestParam(defaultValue = "0") int page,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!SLUG.matcher(slug).matches()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found");
+        }
+        serve(CatalogSnapshotService.categoryPagePath(slug, page), request, response);
+    }
+
+    @GetMapping("/sitemap.xml")
+    public void sitemap(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(CatalogSnapshotService.SITEMAP, request, response);
+    }
+
+    private void serve(String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogSnapshot snapshot = snapshotService.getCurrent();
+        if (snapshot == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Catalog is being generated");
+        }
+        SnapshotFile file = snapshot.find(path)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Page not found"));
+        response.setHeader("X-Catalog-Version", snapshot.version());
+        responder.serve(snapshot.directory(), file, request, response);
+    }
+}
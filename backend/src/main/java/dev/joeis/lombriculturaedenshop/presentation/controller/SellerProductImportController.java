@@ -0,0 +1,81 @@
+package dev.joeis.lombriculturaedenshop.presentation.controller;
+
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus;
+import dev.joeis.lombriculturaedenshop.application.service.ProductImportService;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/seller/products/import")
+@RequiredArgsConstructor
+public class SellerProductImportController {
+
+    private final ProductImportService productImportService;
+    private final UserRepository userRepository;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportStatus> submit(@RequestParam("file") MultipartFile file, Principal principal)
+            throws IOException {
+        User seller = currentSeller(principal);
+        try {
+            ProductImportStatus status = productImportService.submit(seller, file);
+            return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/seller/products/import/" + status.jobId())
+                .body(status);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ProductImportStatus status(@PathVariable UUID jobId, Principal principal) {
+        User seller = currentSeller(principal);
+        return productImportService.getStatus(jobId, seller.getId())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found"));
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Resource> errors(@PathVariable UUID jobId, Principal principal) {
+        User seller = currentSeller(principal);
+        Resource errorFile = productImportService.getErrorFile(jobId, seller.getId())
+            .map(FileSystemResource::new)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No error file for this import"));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + "-errors.csv\"")
+            .body(errorFile);
+    }
+
+    private User currentSeller(Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        User user = userRepository.findByEmail(principal.getName())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        if (user.getRole() != User.UserRole.SELLER) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only sellers can import products");
+        }
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+-- Broadcasts changes to cached tables on the entity_cache_invalidation channel so every
+-- application instance can evict its second-level cache entries. Triggers fire for any
+-- writer (JPA, the bulk importer, manual SQL) and notifications are only delivered on
+-- commit. Payloads are '<table>:<id>', or '<table>:*' for large statements.
+-- Safe to re-run on an existing database.
+
+CREATE OR REPLACE FUNCTION notify_entity_cache_invalidation()
+RETURNS TRIGGER AS $$
+DECLARE
+    changed_count INTEGER;
+    changed_id UUID;
+BEGIN
+    SELECT count(*) INTO changed_count FROM changed_rows;
+    IF changed_count > 100 THEN
+        PERFORM pg_notify('entity_cache_invalidation', TG_TABLE_NAME || ':*');
+    ELSE
+        FOR changed_id IN SELECT id FROM changed_rows LOOP
+            PERFORM pg_notify('entity_cache_invalidation', TG_TABLE_NAME || ':' || changed_id);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables only allow one event per trigger, hence three triggers per table.
+-- Inserts are included because cached lookups (e.g. by email) may hold empty results.
+DO $$
+DECLARE
+    cached_table TEXT;
+BEGIN
+    FOREACH cached_table IN ARRAY ARRAY['users', 'products'] LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', cached_table || '_cache_insert', cached_table);
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', cached_table || '_cache_update', cached_table);
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', cached_table || '_cache_delete', cached_table);
+        EXECUTE format(
+            'CREATE TRIGGER %I AFTER INSERT ON %I REFERENCING NEW TABLE AS changed_rows '
+            'FOR EACH STATEMENT EXECUTE FUNCTION notify_entity_cache_invalidation()',
+            cached_table || '_cache_insert', cached_table);
+        EXECUTE format(
+            'CREATE TRIGGER %I AFTER UPDATE ON %I REFERENCING NEW TABLE AS changed_rows '
+            'FOR EACH STATEMENT EXECUTE FUNCTION notify_entity_cache_invalidation()',
+            cached_table || '_cache_update', cached_table);
+        EXECUTE format(
+            'CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS changed_rows '
+            'FOR EACH STATEMENT EXECUTE FUNCTION notify_entity_cache_invalidation()',
+            cached_table || '_cache_delete', cached_table);
+    END LOOP;
+END;
+$$;
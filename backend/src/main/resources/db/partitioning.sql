@@ -0,0 +1,149 @@
+-- Monthly range partitioning of orders by created_at.
+-- Runs after init.sql on a fresh database and can be applied to an existing one;
+-- tables that are already partitioned are left untouched.
+--
+-- Only orders is partitioned. Order items, payments and shipments are always looked up
+-- by order_id (or the Stripe payment id), which a child partitioned by its own
+-- created_at could not prune on, so they stay plain tables indexed by order_id. Hot
+-- order queries filter on orders.created_at and touch only recent partitions; the
+-- archival job reaches the children of old orders through the order ids it archives.
+--
+-- The partition key has to be part of every unique constraint on orders, so its primary
+-- key becomes (id, created_at) and foreign keys pointing at orders(id) are dropped. The
+-- JPA cascades keep order children consistent, and the archival job removes them together.
+
+CREATE OR REPLACE FUNCTION create_monthly_partitions(p_table TEXT, p_from DATE, p_months INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..p_months LOOP
+        month_start := (date_trunc('month', p_from) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+            p_table || '_p' || to_char(month_start, 'YYYYMM'),
+            p_table,
+            month_start,
+            (month_start + interval '1 month')::date);
+    END LOOP;
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I DEFAULT', p_table || '_default', p_table);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Called by the application on a schedule to keep future partitions available
+CREATE OR REPLACE FUNCTION create_order_partitions(p_from DATE, p_months INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    PERFORM create_monthly_partitions('orders', p_from, p_months);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops monthly partitions that end before p_before and were emptied by archival
+CREATE OR REPLACE FUNCTION drop_empty_order_partitions(p_before DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    has_rows BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname, to_date(right(c.relname, 6), 'YYYYMM') AS month_start
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'orders'
+          AND c.relname ~ '_p[0-9]{6}$'
+    LOOP
+        CONTINUE WHEN (part.month_start + interval '1 month')::date > p_before;
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', part.relname) INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('DROP TABLE %I', part.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    fk RECORD;
+    oldest DATE;
+    months INTEGER;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'orders'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    FOR fk IN
+        SELECT conrelid::regclass AS tbl, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'orders'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+
+    ALTER TABLE orders RENAME TO orders_legacy;
+    UPDATE orders_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+    CREATE TABLE orders (LIKE orders_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (created_at);
+    ALTER TABLE orders ALTER COLUMN created_at SET NOT NULL;
+    ALTER TABLE orders ADD PRIMARY KEY (id, created_at);
+
+    oldest := COALESCE((SELECT min(created_at)::date FROM orders_legacy), CURRENT_DATE);
+    months := ((extract(year FROM CURRENT_DATE) - extract(year FROM oldest)) * 12
+               + extract(month FROM CURRENT_DATE) - extract(month FROM oldest))::int + 3;
+    PERFORM create_monthly_partitions('orders', oldest, months);
+
+    INSERT INTO orders SELECT * FROM orders_legacy;
+    DROP TABLE orders_legacy;
+
+    ALTER TABLE orders ADD FOREIGN KEY (user_id) REFERENCES users(id);
+END;
+$$;
+
+-- Earlier versions of this script also partitioned the child tables by their own
+-- created_at. Turn them back into plain tables, restoring the keys init.sql declares.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['order_items', 'payments', 'shipments'] LOOP
+        CONTINUE WHEN (SELECT relkind FROM pg_class WHERE oid = t::regclass) <> 'p';
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', t, t || '_partitioned');
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+            t, t || '_partitioned');
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN created_at DROP NOT NULL', t);
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id)', t);
+        EXECUTE format('INSERT INTO %I SELECT * FROM %I', t, t || '_partitioned');
+        EXECUTE format('DROP TABLE %I', t || '_partitioned');
+        IF t = 'order_items' THEN
+            ALTER TABLE order_items ADD FOREIGN KEY (product_id) REFERENCES products(id);
+        ELSIF t = 'payments' THEN
+            -- Fails if duplicate Stripe ids were stored; resolve them and re-run
+            ALTER TABLE payments ADD CONSTRAINT payments_stripe_payment_id_key UNIQUE (stripe_payment_id);
+        END IF;
+    END LOOP;
+    DROP TABLE IF EXISTS payment_stripe_ids;
+    DROP FUNCTION IF EXISTS claim_payment_stripe_id();
+END;
+$$;
+
+SELECT create_order_partitions(CURRENT_DATE, 3);
+
+-- Indexes on orders are declared on the parent and created on every partition
+CREATE INDEX IF NOT EXISTS idx_orders_user ON orders(user_id);
+CREATE INDEX IF NOT EXISTS idx_orders_guest_email ON orders(guest_email);
+CREATE INDEX IF NOT EXISTS idx_orders_guest_phone ON orders(guest_phone);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
+CREATE INDEX IF NOT EXISTS idx_orders_created ON orders(created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product ON order_items(product_id);
+
+CREATE INDEX IF NOT EXISTS idx_payments_order ON payments(order_id);
+CREATE INDEX IF NOT EXISTS idx_payments_stripe ON payments(stripe_payment_id);
+CREATE INDEX IF NOT EXISTS idx_payments_status ON payments(status);
+
+CREATE INDEX IF NOT EXISTS idx_shipments_order ON shipments(order_id);
+CREATE INDEX IF NOT EXISTS idx_shipments_tracking ON shipments(tracking_number);
@@ -0,0 +1,21 @@
+-- Brings a database created from an older init.sql up to the schema the entities expect.
+-- Fresh databases already match init.sql, so every statement here is a no-op on them.
+-- Idempotent: run it before deploying a new backend version (prod uses ddl-auto: validate).
+
+-- Seller SKUs for the bulk product import, which upserts on (seller_id, sku)
+ALTER TABLE products ADD COLUMN IF NOT EXISTS sku VARCHAR(100);
+
+-- Unique constraints are owned by these scripts; Hibernate's schema update skips them
+-- (hibernate.schema_update.unique_constraint_strategy: SKIP)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_products_seller_sku') THEN
+        ALTER TABLE products ADD CONSTRAINT uk_products_seller_sku UNIQUE (seller_id, sku);
+    END IF;
+END;
+$$;
+
+-- Optimistic locking for Order, Payment and Shipment (@Version). Existing rows start at 0.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,32 @@
+package dev.joeis.lombriculturaedenshop.application.search;
+
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie.Kind;
+import dev.joeis.lombriculturaedenshop.application.search.SuggestionTrie.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private static final String LONG_TITLE = "Humus de lombriz californiana premium para huerto urbano 5 kg";
+
+    @Test
+    void matchesPrefixesIgnoringCaseAndAccents() {
+        SuggestionTrie trie = new SuggestionTrie(5);
+        trie.put("p1", "Té de composta", Kind.PRODUCT, 1);
+
+        assertThat(trie.suggest("TE DE", 5)).extracting(Suggestion::key).containsExactly("p1");
+        assertThat(trie.suggest("compo", 5)).extracting(Suggestion::key).containsExactly("p1");
+    }
+
+    @Test
+    void queriesLongerThanIndexedTermsStillMatch() {
+        SuggestionTrie trie = new SuggestionTrie(5);
+        trie.put("p1", LONG_TITLE, Kind.PRODUCT, 1);
+
+        assertThat(trie.suggest(LONG_TITLE, 5)).extracting(Suggestion::key).containsExactly("p1");
+        // Only the first 32 characters of a query are compared
+        assertThat(trie.suggest("Humus de lombriz californiana profesional", 5))
+            .extracting(Suggestion::key).containsExactly("p1");
+    }
+}
@@ -0,0 +1,86 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogCategory;
+import dev.joeis.lombriculturaedenshop.application.dto.CatalogPage;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.CategoryCountView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * "Café" and "Cafe" both normalize to "cafe"; the live category list has to link to the
+ * same category pages the snapshot published for them.
+ */
+class CatalogSnapshotCategorySlugTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CatalogService catalogService = mock(CatalogService.class);
+    private CatalogSnapshotService snapshotService;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void liveCategorySlugsMatchThePublishedSnapshot() throws Exception {
+        CatalogPage empty = new CatalogPage(List.of(), null, 0, 3, 0, 0);
+        when(catalogService.getPageSize()).thenReturn(3);
+        when(catalogService.getCatalogPage(anyInt())).thenReturn(empty);
+        when(catalogService.getCategoryPage(any(), anyInt())).thenReturn(empty);
+        when(catalogService.getFeatured()).thenReturn(List.of());
+        when(catalogService.getCategoryCounts()).thenReturn(List.of(count("Café", 2), count("Cafe", 1)));
+        snapshotService = new CatalogSnapshotService(catalogService, mock(PlatformTransactionManager.class),
+            objectMapper, new SimpleMeterRegistry(), snapshotDirectory.toString(), "http://localhost:3000", "",
+            Duration.ZERO, 2);
+
+        snapshotService.requestFullRegeneration();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (snapshotService.getCurrent() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<CatalogCategory> published = objectMapper.readValue(
+            snapshotService.getCurrent().directory().resolve(CatalogSnapshotService.CATEGORIES).toFile(),
+            new TypeReference<>() { });
+
+        Map<String, String> live = snapshotService.categorySlugs(List.of("Cafe", "Café", "Lombrices"));
+
+        assertThat(published).hasSize(2).extracting(CatalogCategory::slug).doesNotHaveDuplicates();
+        assertThat(live).containsAllEntriesOf(published.stream()
+            .collect(Collectors.toMap(CatalogCategory::name, CatalogCategory::slug)));
+        assertThat(live).containsEntry("Lombrices", "lombrices");
+    }
+
+    private static CategoryCountView count(String category, long products) {
+        return new CategoryCountView() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+
+            @Override
+            public Long getProducts() {
+                return products;
+            }
+        };
+    }
+}
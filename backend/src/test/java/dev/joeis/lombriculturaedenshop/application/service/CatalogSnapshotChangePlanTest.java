@@ -0,0 +1,112 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshotService.CatalogState;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshotService.ChangePlan;
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshotService.Membership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The published catalog has seven products on pages of three: four in "Fertilizantes"
+ * followed by three in "Lombrices", the last of which is featured.
+ */
+class CatalogSnapshotChangePlanTest {
+
+    private static final int PAGE_SIZE = 3;
+    private static final String FERTILIZERS = "Fertilizantes";
+    private static final String WORMS = "Lombrices";
+
+    private final List<UUID> products = new ArrayList<>();
+    private final Map<UUID, Optional<Membership>> changes = new HashMap<>();
+    private CatalogState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new CatalogState();
+        for (int i = 0; i < 7; i++) {
+            UUID id = UUID.randomUUID();
+            String category = i < 4 ? FERTILIZERS : WORMS;
+            products.add(id);
+            state.products.put(id, new Membership(category, i == 6));
+            state.catalogOrder.add(id);
+            state.categoryOrder.computeIfAbsent(category, c -> new ArrayList<>()).add(id);
+            state.assignSlug(category);
+        }
+    }
+
+    @Test
+    void inPlaceEditRewritesOnlyItsPages() {
+        changes.put(products.get(5), Optional.of(new Membership(WORMS, false)));
+
+        ChangePlan plan = plan();
+
+        assertThat(plan.reflowCatalog()).isFalse();
+        assertThat(plan.catalogPages()).containsExactly(1);
+        assertThat(plan.categoryPages()).containsOnlyKeys(WORMS);
+        assertThat(plan.categoryPages().get(WORMS)).containsExactly(0);
+        assertThat(plan.reflowedCategories()).isEmpty();
+        assertThat(plan.categoriesChanged()).isFalse();
+        assertThat(plan.featured()).isFalse();
+    }
+
+    @Test
+    void categoryMoveReflowsBothCategories() {
+        changes.put(products.get(3), Optional.of(new Membership(WORMS, false)));
+
+        ChangePlan plan = plan();
+
+        assertThat(plan.reflowCatalog()).isFalse();
+        assertThat(plan.catalogPages()).containsExactly(1);
+        assertThat(plan.reflowedCategories()).containsExactlyInAnyOrder(FERTILIZERS, WORMS);
+        assertThat(plan.categoriesChanged()).isTrue();
+        assertThat(state.products.get(products.get(3)).category()).isEqualTo(WORMS);
+    }
+
+    @Test
+    void appearingAndDisappearingProductsReflowTheCatalog() {
+        UUID added = UUID.randomUUID();
+        changes.put(added, Optional.of(new Membership(FERTILIZERS, false)));
+        changes.put(products.get(0), Optional.empty());
+
+        ChangePlan plan = plan();
+
+        assertThat(plan.reflowCatalog()).isTrue();
+        assertThat(plan.reflowedCategories()).containsExactly(FERTILIZERS);
+        assertThat(plan.categoriesChanged()).isTrue();
+        assertThat(state.products).containsKey(added).doesNotContainKey(products.get(0));
+    }
+
+    @Test
+    void featuredChangesRewriteTheFeaturedList() {
+        changes.put(products.get(6), Optional.of(new Membership(WORMS, false)));
+        changes.put(products.get(1), Optional.of(new Membership(FERTILIZERS, true)));
+
+        ChangePlan plan = plan();
+
+        assertThat(plan.featured()).isTrue();
+        assertThat(plan.catalogPages()).containsExactly(0, 2);
+        assertThat(plan.categoryPages().get(FERTILIZERS)).containsExactly(0);
+        assertThat(plan.categoryPages().get(WORMS)).containsExactly(0);
+    }
+
+    @Test
+    void changesToProductsThatWereNeverVisibleAreSkipped() {
+        changes.put(UUID.randomUUID(), Optional.empty());
+
+        assertThat(plan().isEmpty()).isTrue();
+    }
+
+    private ChangePlan plan() {
+        return ChangePlan.of(state, changes.keySet(), PAGE_SIZE, changes::get);
+    }
+}
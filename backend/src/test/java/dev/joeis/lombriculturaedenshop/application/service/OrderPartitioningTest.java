@@ -0,0 +1,214 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.OrderPartitionMaintenance;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs db/init.sql and db/partitioning.sql against a real PostgreSQL and checks that
+ * partitions are created ahead of time and that archival moves old orders, with their
+ * children, into the archive files before dropping the emptied partitions.
+ */
+class OrderPartitioningTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderPartitionMaintenance partitionMaintenance;
+    private UUID customerId;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+        // Executed as one multi-statement string so the driver handles the $$ bodies
+        jdbcTemplate.execute(script("db/init.sql"));
+        jdbcTemplate.execute(script("db/partitioning.sql"));
+        // Re-running must be a no-op
+        jdbcTemplate.execute(script("db/partitioning.sql"));
+
+        partitionMaintenance = new OrderPartitionMaintenance(jdbcTemplate);
+        ReflectionTestUtils.setField(partitionMaintenance, "monthsAhead", 6);
+        customerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, 'customer@example.com', 'CUSTOMER')",
+            customerId);
+    }
+
+    @Test
+    void onlyOrdersArePartitioned() {
+        assertThat(relkind("orders")).isEqualTo("p");
+        assertThat(relkind("order_items")).isEqualTo("r");
+        assertThat(relkind("payments")).isEqualTo("r");
+        assertThat(relkind("shipments")).isEqualTo("r");
+        assertThat(partitionMaintenance.isPartitioned()).isTrue();
+    }
+
+    @Test
+    void stripePaymentIdsStayUnique() {
+        UUID orderId = insertOrder("PAID", LocalDateTime.now());
+
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+            INSERT INTO payments (id, order_id, stripe_payment_id, amount, status)
+            VALUES (?, ?, ?, 150.00, 'PENDING')
+            """, UUID.randomUUID(), orderId, "pi_" + orderId))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void createsPartitionsAheadAndRoutesOrdersByMonth() {
+        LocalDate sixMonthsAhead = LocalDate.now().plusMonths(6).withDayOfMonth(1);
+        assertThat(partitionExists(sixMonthsAhead)).isFalse();
+
+        partitionMaintenance.createFuturePartitions();
+
+        assertThat(partitionExists(sixMonthsAhead)).isTrue();
+        UUID orderId = insertOrder("PENDING", sixMonthsAhead.atTime(12, 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM orders WHERE id = ?",
+            String.class, orderId)).isEqualTo(partitionName(sixMonthsAhead));
+    }
+
+    @Test
+    void recentOrderQueriesOnlyScanRecentPartitions() {
+        partitionMaintenance.createFuturePartitions();
+        jdbcTemplate.execute("SELECT create_monthly_partitions('orders', CURRENT_DATE - 730, 24)");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN (COSTS OFF) SELECT * FROM orders WHERE user_id = '" + customerId
+                + "' AND created_at > now() - interval '20 days'", String.class));
+
+        assertThat(plan).contains(partitionName(LocalDate.now()));
+        assertThat(plan).doesNotContain(partitionName(LocalDate.now().minusMonths(3)));
+    }
+
+    @Test
+    void archivalMovesOldFinishedOrdersAndDropsEmptiedPartitions() throws IOException {
+        LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2);
+        LocalDateTime eighteenMonthsAgo = LocalDateTime.now().minusMonths(18);
+        jdbcTemplate.execute("SELECT create_monthly_partitions('orders', CURRENT_DATE - 730, 24)");
+        UUID archived = insertOrder("DELIVERED", twoYearsAgo);
+        UUID stillOpen = insertOrder("PENDING", eighteenMonthsAgo);
+        UUID recent = insertOrder("DELIVERED", LocalDateTime.now().minusDays(3));
+        UUID reviewId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO reviews (id, user_id, order_id, rating) VALUES (?, ?, ?, 5)",
+            reviewId, customerId, archived);
+
+        OrderArchivalService archival = new OrderArchivalService(new NamedParameterJdbcTemplate(dataSource),
+            new DataSourceTransactionManager(dataSource), partitionMaintenance, archiveDirectory.toString(),
+            Duration.ofDays(365), 500, true);
+        long count = archival.archive();
+
+        assertThat(count).isEqualTo(1);
+        assertThat(orderIds()).containsExactlyInAnyOrder(stillOpen, recent);
+        for (String child : List.of("order_items", "payments", "shipments")) {
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + child + " WHERE order_id = ?",
+                Integer.class, archived)).as(child).isZero();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + child + " WHERE order_id = ?",
+                Integer.class, stillOpen)).as(child).isOne();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT order_id FROM reviews WHERE id = ?", UUID.class, reviewId))
+            .isNull();
+
+        Path file = archiveDirectory.resolve("orders-" + twoYearsAgo.format(DateTimeFormatter.ofPattern("yyyy-MM"))
+            + ".ndjson.gz");
+        String archive = gunzip(file);
+        assertThat(archive.lines()).hasSize(1);
+        assertThat(archive).contains(archived.toString(), "pi_" + archived, "\"items\": [{");
+
+        // The emptied month is dropped; the one still holding an open order is kept
+        assertThat(partitionExists(twoYearsAgo.toLocalDate())).isFalse();
+        assertThat(partitionExists(eighteenMonthsAgo.toLocalDate())).isTrue();
+    }
+
+    private UUID insertOrder(String status, LocalDateTime createdAt) {
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO orders (id, user_id, status, total_amount, shipping_address, created_at)
+            VALUES (?, ?, ?, 150.00, '{"postalCode": "44100"}', ?)
+            """, orderId, customerId, status, createdAt);
+        jdbcTemplate.update("""
+            INSERT INTO order_items (id, order_id, quantity, price, created_at) VALUES (?, ?, 1, 150.00, ?)
+            """, UUID.randomUUID(), orderId, createdAt);
+        jdbcTemplate.update("""
+            INSERT INTO payments (id, order_id, stripe_payment_id, amount, status, created_at)
+            VALUES (?, ?, ?, 150.00, 'SUCCESS', ?)
+            """, UUID.randomUUID(), orderId, "pi_" + orderId, createdAt);
+        jdbcTemplate.update("""
+            INSERT INTO shipments (id, order_id, status, created_at) VALUES (?, ?, 'DELIVERED', ?)
+            """, UUID.randomUUID(), orderId, createdAt);
+        return orderId;
+    }
+
+    private List<UUID> orderIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM orders", UUID.class);
+    }
+
+    private String relkind(String table) {
+        return jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = ?::regclass",
+            String.class, table);
+    }
+
+    private boolean partitionExists(LocalDate month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+            Boolean.class, partitionName(month)));
+    }
+
+    private static String partitionName(LocalDate month) {
+        return "orders_p" + month.format(PARTITION_MONTH);
+    }
+
+    private static String script(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.repository.OrderRepository;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Address;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many updaters race to move the same order through its lifecycle. Each stage has
+ * exactly one winner; every loser either reads the new status and does nothing, or
+ * hits a version conflict once and then does nothing on the retry.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderStateService.class, OrderStateServiceContentionTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStateServiceContentionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStateServiceContentionTest.class);
+
+    private static final int UPDATERS = 16;
+    private static final List<Order.OrderStatus> STAGES = List.of(
+        Order.OrderStatus.PAID,
+        Order.OrderStatus.PROCESSING,
+        Order.OrderStatus.SHIPPED,
+        Order.OrderStatus.DELIVERED
+    );
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OrderStateService orderStateService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentUpdatersConvergeWithoutExhaustingRetries() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+            .guestEmail("guest@example.com")
+            .status(Order.OrderStatus.PENDING)
+            .totalAmount(Money.ofCents(25_000))
+            .shippingAddress(Address.builder().postalCode("44100").country("MX").build())
+            .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(UPDATERS);
+        long started = System.nanoTime();
+        try {
+            for (Order.OrderStatus target : STAGES) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Order>> updates = new ArrayList<>();
+                for (int i = 0; i < UPDATERS; i++) {
+                    updates.add(executor.submit(() -> {
+                        start.await();
+                        return orderStateService.transitionOrder(order.getId(), target);
+                    }));
+                }
+                start.countDown();
+                for (Future<Order> update : updates) {
+                    assertThat(update.get(30, TimeUnit.SECONDS).getStatus()).isEqualTo(target);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Order result = orderRepository.findById(order.getId()).orElseThrow();
+        double retried = conflicts("retried");
+        double exhausted = conflicts("exhausted");
+        log.info("{} updaters x {} stages: {} transitions/s, {} conflicts retried",
+            UPDATERS, STAGES.size(), Math.round(UPDATERS * STAGES.size() / elapsedSeconds), (long) retried);
+
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+        // One committed write per stage; no-op transitions don't bump the version
+        assertThat(result.getVersion()).isEqualTo((long) STAGES.size());
+        assertThat(exhausted).isZero();
+        // A loser conflicts at most once per stage: its retry already sees the winner's status
+        assertThat(retried).isBetween(0.0, (double) (UPDATERS - 1) * STAGES.size());
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get("orders.optimistic.conflicts").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.AutocompleteSuggestion;
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.TitleView;
+import dev.joeis.lombriculturaedenshop.domain.repository.ProductRepository.UnitsSoldView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductAutocompleteServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductAutocompleteService service =
+        new ProductAutocompleteService(productRepository, new SimpleMeterRegistry(), 10);
+
+    @Test
+    void rebuildRequestedWhileRebuildingRunsAgain() {
+        TitleView existing = title("Humus de lombriz", "Fertilizantes");
+        TitleView imported = title("Lombriz roja californiana", "Lombrices");
+        when(productRepository.findUnitsSold(any())).thenReturn(List.of());
+        when(productRepository.findActiveTitles())
+            .thenAnswer(invocation -> {
+                // An import commits after this read started; its titles are not in the result
+                service.rebuild();
+                return List.of(existing);
+            })
+            .thenReturn(List.of(existing, imported));
+
+        service.rebuild();
+
+        verify(productRepository, times(2)).findActiveTitles();
+        assertThat(service.suggest("lombriz roja", 5)).extracting(AutocompleteSuggestion::text)
+            .containsExactly("Lombriz roja californiana");
+    }
+
+    @Test
+    void rankingCountsOnlyOrdersThatWereNotCancelledOrRefunded() {
+        TitleView popular = title("Humus de lombriz", null);
+        TitleView refunded = title("Humus líquido", null);
+        when(productRepository.findUnitsSold(any())).thenReturn(List.of(unitsSold(popular.getId(), 3)));
+        when(productRepository.findActiveTitles()).thenReturn(List.of(refunded, popular));
+
+        service.rebuild();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Order.OrderStatus>> statuses = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository).findUnitsSold(statuses.capture());
+        assertThat(statuses.getValue())
+            .contains(Order.OrderStatus.PAID, Order.OrderStatus.DELIVERED)
+            .doesNotContain(Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED, Order.OrderStatus.REFUNDED);
+        assertThat(service.suggest("humus", 5)).extracting(AutocompleteSuggestion::text)
+            .containsExactly("Humus de lombriz", "Humus líquido");
+    }
+
+    private static TitleView title(String title, String category) {
+        UUID id = UUID.randomUUID();
+        return new TitleView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getCategory() {
+                return category;
+            }
+        };
+    }
+
+    private static UnitsSoldView unitsSold(UUID productId, long units) {
+        return new UnitsSoldView() {
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getUnitsSold() {
+                return units;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportRow;
+import dev.joeis.lombriculturaedenshop.application.dto.ProductImportStatus;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ProductBatchWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductImportServiceTest {
+
+    @TempDir
+    Path workDirectory;
+
+    private final List<String> importedSkus = new ArrayList<>();
+    private ProductImportService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void rejectedRowsDoNotFailTheRestOfTheBatch() throws Exception {
+        service = service(new FailingBatchWriter("SKU-7"), 10);
+
+        ProductImportStatus status = importAndWait(csv(10));
+
+        assertThat(status.rowsImported()).isEqualTo(9);
+        assertThat(status.rowsFailed()).isEqualTo(1);
+        assertThat(importedSkus).hasSize(9).doesNotContain("SKU-7");
+        assertThat(Files.readAllLines(service.getErrorFile(status.jobId(), status.sellerId()).orElseThrow()))
+            .containsExactly("line,sku,error", "9,SKU-7,Rejected by database: duplicate slug");
+    }
+
+    @Test
+    void duplicateSkusAreCountedApartFromImportedRows() throws Exception {
+        service = service(new FailingBatchWriter(null), 10);
+
+        ProductImportStatus status = importAndWait(csv(3) + "SKU-1,Humus 1 kg (nuevo),,99.00,5\n");
+
+        assertThat(status.rowsRead()).isEqualTo(4);
+        assertThat(status.rowsImported()).isEqualTo(3);
+        assertThat(status.rowsDuplicated()).isEqualTo(1);
+        assertThat(status.rowsFailed()).isZero();
+    }
+
+    private ProductImportService service(ProductBatchWriter batchWriter, int batchSize) {
+        return new ProductImportService(batchWriter, new ObjectMapper(), event -> { },
+            workDirectory.toString(), batchSize, 2, 1);
+    }
+
+    private ProductImportStatus importAndWait(String csv) throws Exception {
+        User seller = User.builder().id(UUID.randomUUID()).role(User.UserRole.SELLER).build();
+        ProductImportStatus status = service.submit(seller,
+            new MockMultipartFile("file", "catalog.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+        while (!status.isFinished()) {
+            Thread.sleep(10);
+            status = service.getStatus(status.jobId(), seller.getId()).orElseThrow();
+        }
+        return status;
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("sku,title,description,price,stock\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("SKU-").append(i).append(",Humus ").append(i).append(" kg,,150.00,10\n");
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Rejects, like a constraint violation would, every batch that contains the given SKU.
+     */
+    private final class FailingBatchWriter extends ProductBatchWriter {
+
+        private final String rejectedSku;
+
+        FailingBatchWriter(String rejectedSku) {
+            super(null);
+            this.rejectedSku = rejectedSku;
+        }
+
+        @Override
+        public void upsert(UUID sellerId, List<ProductImportRow> rows) {
+            if (rows.stream().anyMatch(row -> row.sku().equals(rejectedSku))) {
+                throw new DataIntegrityViolationException("duplicate slug");
+            }
+            rows.forEach(row -> importedSkus.add(row.sku()));
+        }
+    }
+}
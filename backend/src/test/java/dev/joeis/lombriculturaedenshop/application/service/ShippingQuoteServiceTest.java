@@ -0,0 +1,136 @@
+package dev.joeis.lombriculturaedenshop.application.service;
+
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingQuoteKey;
+import dev.joeis.lombriculturaedenshop.application.dto.ShippingRate;
+import dev.joeis.lombriculturaedenshop.application.exception.ShippingQuoteUnavailableException;
+import dev.joeis.lombriculturaedenshop.infrastructure.external.SkydropxShippingProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShippingQuoteServiceTest {
+
+    private static final ShippingQuoteKey KEY = new ShippingQuoteKey("44100", 1000, 30, 20, 10);
+    private static final List<ShippingRate> RATES = List.of(rate("estafeta", "149.00"));
+    private static final List<ShippingRate> NEW_RATES = List.of(rate("estafeta", "159.00"));
+
+    private final SkydropxShippingProvider provider = mock(SkydropxShippingProvider.class);
+
+    @Test
+    void concurrentMissesShareOneCarrierCall() throws InterruptedException {
+        ShippingQuoteService service = service(Duration.ofMinutes(15), Duration.ofHours(6), Duration.ofSeconds(10));
+        Sinks.One<List<ShippingRate>> upstream = Sinks.one();
+        when(provider.quote(KEY)).thenReturn(upstream.asMono());
+
+        List<List<ShippingRate>> results = new CopyOnWriteArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread caller = new Thread(() -> results.add(service.getRates(KEY)));
+            caller.start();
+            callers.add(caller);
+        }
+        // Every caller is parked on the shared request before the carrier answers
+        while (!callers.stream().allMatch(caller -> caller.getState() == Thread.State.TIMED_WAITING)) {
+            Thread.sleep(5);
+        }
+        upstream.tryEmitValue(RATES);
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        verify(provider, times(1)).quote(KEY);
+        assertThat(results).hasSize(8).allSatisfy(rates -> assertThat(rates).isEqualTo(RATES));
+    }
+
+    @Test
+    void staleEntryIsServedWhileARefreshRuns() {
+        ShippingQuoteService service = service(Duration.ZERO, Duration.ofHours(6), Duration.ofSeconds(10));
+        Sinks.One<List<ShippingRate>> refresh = Sinks.one();
+        when(provider.quote(KEY)).thenReturn(Mono.just(RATES), refresh.asMono());
+        service.getRates(KEY);
+
+        assertThat(service.getRates(KEY)).isEqualTo(RATES);
+        // A second stale read while the refresh is pending doesn't start another one
+        assertThat(service.getRates(KEY)).isEqualTo(RATES);
+        verify(provider, times(2)).quote(KEY);
+
+        refresh.tryEmitValue(NEW_RATES);
+        assertThat(service.getRates(KEY)).isEqualTo(NEW_RATES);
+    }
+
+    @Test
+    void carrierErrorFallsBackToLastKnownRates() {
+        ShippingQuoteService service = service(Duration.ZERO, Duration.ZERO, Duration.ofSeconds(10));
+        when(provider.quote(KEY)).thenReturn(Mono.just(RATES),
+            Mono.error(WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable", null, null, null)));
+        service.getRates(KEY);
+
+        assertThat(service.getRates(KEY)).isEqualTo(RATES);
+    }
+
+    @Test
+    void carrierTimeoutFallsBackToLastKnownRates() {
+        ShippingQuoteService service = service(Duration.ZERO, Duration.ZERO, Duration.ofMillis(50));
+        when(provider.quote(KEY)).thenReturn(Mono.just(RATES), Mono.never());
+        service.getRates(KEY);
+
+        assertThat(service.getRates(KEY)).isEqualTo(RATES);
+    }
+
+    @Test
+    void lastKnownRatesAreNotUsedPastMaxStaleIfError() {
+        ShippingQuoteService service = new ShippingQuoteService(provider, new SimpleMeterRegistry(),
+            Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(10));
+        when(provider.quote(KEY)).thenReturn(Mono.just(RATES), Mono.error(new IllegalStateException("down")));
+        service.getRates(KEY);
+
+        assertThatThrownBy(() -> service.getRates(KEY)).isInstanceOf(ShippingQuoteUnavailableException.class);
+    }
+
+    @Test
+    void missWithoutCachedRatesPropagatesTheError() {
+        ShippingQuoteService service = service(Duration.ofMinutes(15), Duration.ofHours(6), Duration.ofSeconds(10));
+        IllegalStateException failure = new IllegalStateException("down");
+        when(provider.quote(KEY)).thenReturn(Mono.error(failure));
+
+        assertThatThrownBy(() -> service.getRates(KEY))
+            .isInstanceOf(ShippingQuoteUnavailableException.class)
+            .hasCause(failure);
+    }
+
+    @Test
+    void emptyRateListsAreNotCached() {
+        ShippingQuoteService service = service(Duration.ofMinutes(15), Duration.ofHours(6), Duration.ofSeconds(10));
+        when(provider.quote(KEY)).thenReturn(Mono.just(List.of()), Mono.just(RATES));
+
+        assertThat(service.getRates(KEY)).isEmpty();
+        assertThat(service.getRates(KEY)).isEqualTo(RATES);
+        verify(provider, times(2)).quote(KEY);
+    }
+
+    private ShippingQuoteService service(Duration ttl, Duration staleWhileRevalidate, Duration waitTimeout) {
+        return new ShippingQuoteService(provider, new SimpleMeterRegistry(), ttl, staleWhileRevalidate,
+            Duration.ofHours(48), waitTimeout);
+    }
+
+    private static ShippingRate rate(String carrier, String price) {
+        return new ShippingRate(carrier, "standard", new BigDecimal(price), "MXN", 3);
+    }
+}
@@ -0,0 +1,177 @@
+package dev.joeis.lombriculturaedenshop.domain.repository;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Order;
+import dev.joeis.lombriculturaedenshop.domain.entity.OrderItem;
+import dev.joeis.lombriculturaedenshop.domain.entity.Payment;
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+import dev.joeis.lombriculturaedenshop.domain.entity.Shipment;
+import dev.joeis.lombriculturaedenshop.domain.entity.User;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Address;
+import dev.joeis.lombriculturaedenshop.domain.valueobject.Money;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements each order view costs, so a mapping change that
+ * brings back per-order selects fails here instead of in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderRepositoryStatementCountTest {
+
+    private static final int CUSTOMER_ORDERS = 5;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User customer;
+    private UUID detailOrderId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = entityManager.persist(User.builder()
+            .email("customer@example.com")
+            .role(User.UserRole.CUSTOMER)
+            .build());
+        User seller = entityManager.persist(User.builder()
+            .email("seller@example.com")
+            .role(User.UserRole.SELLER)
+            .build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            products.add(entityManager.persist(Product.builder()
+                .seller(seller)
+                .title("Humus de lombriz " + i)
+                .category("Fertilizantes")
+                .price(Money.ofCents(15_000 + i))
+                .stock(100)
+                .build()));
+        }
+
+        for (int i = 0; i < CUSTOMER_ORDERS; i++) {
+            Order order = newOrder(products, "pi_customer_" + i);
+            order.setUser(customer);
+            entityManager.persist(order);
+            detailOrderId = order.getId();
+        }
+        Order guestOrder = newOrder(products, "pi_guest");
+        guestOrder.setGuestEmail("guest@example.com");
+        entityManager.persist(guestOrder);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void detailViewIsASingleStatement() {
+        Order order = orderRepository.findDetailById(detailOrderId).orElseThrow();
+
+        renderDetail(order);
+
+        assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void customerListCostsPageCountAndOneItemBatch() {
+        Page<Order> page = orderRepository.findByUser(customer, FIRST_PAGE);
+
+        page.forEach(this::renderSummary);
+
+        assertThat(page.getContent()).hasSize(FIRST_PAGE.getPageSize());
+        assertThat(page.getTotalElements()).isEqualTo(CUSTOMER_ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void adminListCostsPageCountAndOneItemBatch() {
+        Page<Order> page = orderRepository.findAllSummaries(FIRST_PAGE);
+
+        page.forEach(this::renderSummary);
+
+        assertThat(page.getContent()).hasSize(FIRST_PAGE.getPageSize());
+        assertThat(page.getTotalElements()).isEqualTo(CUSTOMER_ORDERS + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // Touches everything the order detail page shows
+    private void renderDetail(Order order) {
+        renderSummary(order);
+        for (OrderItem item : order.getItems()) {
+            assertThat(item.getProduct().getTitle()).isNotNull();
+            assertThat(item.getSubtotal()).isNotNull();
+        }
+    }
+
+    // Touches everything a row of the customer and admin order lists shows
+    private void renderSummary(Order order) {
+        assertThat(order.getCustomerEmail()).isNotNull();
+        assertThat(order.getStatus()).isNotNull();
+        assertThat(order.getTotalAmount()).isNotNull();
+        assertThat(order.getPayment().getStatus()).isNotNull();
+        assertThat(order.getShipment().getStatus()).isNotNull();
+        assertThat(order.getItems().size()).isEqualTo(ITEMS_PER_ORDER);
+    }
+
+    private static Order newOrder(List<Product> products, String stripePaymentId) {
+        Order order = Order.builder()
+            .status(Order.OrderStatus.PENDING)
+            .totalAmount(Money.ZERO)
+            .shippingAddress(Address.builder()
+                .street("Av. Juárez 100")
+                .city("Guadalajara")
+                .state("Jalisco")
+                .postalCode("44100")
+                .country("MX")
+                .build())
+            .build();
+        for (Product product : products) {
+            order.addItem(OrderItem.builder()
+                .product(product)
+                .quantity(2)
+                .price(product.getPrice())
+                .build());
+        }
+        order.setTotalAmount(order.calculateTotal());
+        order.setPayment(Payment.builder()
+            .order(order)
+            .stripePaymentId(stripePaymentId)
+            .amount(order.getTotalAmount())
+            .status(Payment.PaymentStatus.PENDING)
+            .build());
+        order.setShipment(Shipment.builder()
+            .order(order)
+            .carrier("estafeta")
+            .status(Shipment.ShipmentStatus.PENDING)
+            .build());
+        return order;
+    }
+}
@@ -0,0 +1,171 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import dev.joeis.lombriculturaedenshop.domain.entity.Product;
+import dev.joeis.lombriculturaedenshop.domain.repository.UserRepository;
+import dev.joeis.lombriculturaedenshop.infrastructure.config.EntityCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the listener against a real PostgreSQL with the db/cache-invalidation.sql triggers
+ * and checks that a change to one cached table only invalidates cached queries over that
+ * table.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, EntityCacheInvalidationListener.class,
+    EntityCacheInvalidationListenerTest.Infrastructure.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheInvalidationListenerTest {
+
+    private static final String EMAIL = "customer@example.com";
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityCacheInvalidationListener listener;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        while (!listener.isConnected()) {
+            Thread.sleep(10);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void productChangesKeepCachedUserLookups() throws InterruptedException {
+        assertThat(userRepository.findByEmail(EMAIL)).isPresent();
+        long hits = statistics.getQueryCacheHitCount();
+
+        // A checkout decrementing stock, committed by another writer
+        awaitInvalidation("products",
+            () -> jdbcTemplate.update("UPDATE products SET stock = stock - 1 WHERE id = ?", PRODUCT_ID));
+
+        assertThat(userRepository.findByEmail(EMAIL)).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+        assertThat(entityManagerFactory.getCache().contains(Product.class, PRODUCT_ID)).isFalse();
+    }
+
+    @Test
+    void userChangesInvalidateCachedUserLookups() throws InterruptedException {
+        assertThat(userRepository.findByEmail(EMAIL)).isPresent();
+        long hits = statistics.getQueryCacheHitCount();
+
+        awaitInvalidation("users",
+            () -> jdbcTemplate.update("UPDATE users SET first_name = 'Ana' WHERE email = ?", EMAIL));
+
+        assertThat(userRepository.findByEmail(EMAIL)).hasValueSatisfying(user ->
+            assertThat(user.getFirstName()).isEqualTo("Ana"));
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits);
+    }
+
+    private void awaitInvalidation(String table, Runnable write) throws InterruptedException {
+        double before = invalidations(table);
+        write.run();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (invalidations(table) == before && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(invalidations(table)).isGreaterThan(before);
+    }
+
+    private double invalidations(String table) {
+        return meterRegistry.get("entity.cache.invalidations").tag("table", table).counter().count();
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+            jdbcTemplate.execute(script("db/init.sql"));
+            jdbcTemplate.execute(script("db/cache-invalidation.sql"));
+            // Seeded before the listener starts, so no notification from it is still in flight
+            UUID sellerId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, ?, 'CUSTOMER')",
+                UUID.randomUUID(), EMAIL);
+            jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, 'seller@example.com', 'SELLER')",
+                sellerId);
+            jdbcTemplate.update("""
+                INSERT INTO products (id, seller_id, title, price, stock, is_active)
+                VALUES (?, ?, 'Humus de lombriz', 150.00, 10, true)
+                """, PRODUCT_ID, sellerId);
+            return postgres;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String script(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @TestConfiguration
+    static class Infrastructure {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ThreadPoolTaskScheduler taskScheduler() {
+            return new ThreadPoolTaskScheduler();
+        }
+    }
+}
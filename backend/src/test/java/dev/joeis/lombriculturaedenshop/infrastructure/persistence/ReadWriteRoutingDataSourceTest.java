@@ -0,0 +1,154 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.persistence;
+
+import dev.joeis.lombriculturaedenshop.infrastructure.persistence.ReadWriteRoutingDataSource.Route;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String INSERT = "/* insert for dev.joeis.lombriculturaedenshop.domain.entity.Order */"
+        + "insert into orders (id, status) values (?, ?)";
+    private static final String SELECT = "select o.id, o.status from orders o where o.id=?";
+
+    private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesByTransactionReadOnlyFlag() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        signIn("customer@example.com");
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+        assertThat(inTransaction(false, routing::determineCurrentLookupKey)).isEqualTo(Route.PRIMARY);
+    }
+
+    @Test
+    void readsInAReadWriteTransactionDoNotPinTheUser() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        ReadYourWritesStatementInspector inspector = new ReadYourWritesStatementInspector(tracker);
+        signIn("customer@example.com");
+
+        inTransaction(false, () -> {
+            routing.determineCurrentLookupKey();
+            return inspector.inspect(SELECT);
+        });
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+    }
+
+    @Test
+    void committedWritesPinOnlyTheWriterWithinTheWindow() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        ReadYourWritesStatementInspector inspector = new ReadYourWritesStatementInspector(tracker);
+        signIn("customer@example.com");
+
+        inTransaction(false, () -> inspector.inspect(INSERT));
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.PRIMARY);
+        signIn("other@example.com");
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+    }
+
+    @Test
+    void writesStopPinningOnceTheWindowHasPassed() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ZERO);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        signIn("customer@example.com");
+
+        inTransaction(false, () -> new ReadYourWritesStatementInspector(tracker).inspect(INSERT));
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinTheUser() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        signIn("customer@example.com");
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            new ReadYourWritesStatementInspector(tracker).inspect(INSERT);
+            status.setRollbackOnly();
+        });
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+    }
+
+    @Test
+    void guestsDoNotShareOneReadYourWritesKey() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(tracker);
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        inTransaction(false, () -> new ReadYourWritesStatementInspector(tracker).inspect(INSERT));
+
+        assertThat(inTransaction(true, routing::determineCurrentLookupKey)).isEqualTo(Route.REPLICA);
+    }
+
+    @Test
+    void recognisesWriteStatements() {
+        assertThat(ReadYourWritesStatementInspector.isWrite(INSERT)).isTrue();
+        assertThat(ReadYourWritesStatementInspector.isWrite("  UPDATE orders set status=? where id=?")).isTrue();
+        assertThat(ReadYourWritesStatementInspector.isWrite("delete from order_items where order_id=?")).isTrue();
+        assertThat(ReadYourWritesStatementInspector.isWrite(SELECT)).isFalse();
+        assertThat(ReadYourWritesStatementInspector.isWrite("select * from orders for update")).isFalse();
+        assertThat(ReadYourWritesStatementInspector.isWrite("updated_at")).isFalse();
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+
+    /**
+     * Runs the synchronization callbacks of a real transaction without a resource behind it.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
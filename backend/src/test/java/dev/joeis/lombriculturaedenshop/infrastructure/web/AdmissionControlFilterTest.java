@@ -0,0 +1,138 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch inFlight = new CountDownLatch(1);
+    private final CountDownLatch finish = new CountDownLatch(1);
+
+    /** Holds the request in the application until {@link #finish} is released. */
+    private final FilterChain slowChain = (request, response) -> {
+        inFlight.countDown();
+        try {
+            finish.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        finish.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenASlotFrees() throws Exception {
+        AdmissionControlFilter filter = filter(Duration.ofSeconds(10));
+        Future<MockHttpServletResponse> first = executor.submit(() -> checkout(filter, slowChain));
+        inFlight.await();
+
+        Future<MockHttpServletResponse> queued = executor.submit(() -> checkout(filter, (request, response) -> { }));
+        awaitQueueDepth(1);
+        finish.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(queued.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get("admission.wait").tag("endpoint", "checkout").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void fullQueueIsShedWithRetryAfter() throws Exception {
+        AdmissionControlFilter filter = filter(Duration.ofSeconds(10));
+        executor.submit(() -> checkout(filter, slowChain));
+        inFlight.await();
+        executor.submit(() -> checkout(filter, (request, response) -> { }));
+        awaitQueueDepth(1);
+
+        MockHttpServletResponse shed = checkout(filter, (request, response) -> { });
+
+        assertThat(shed.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(rejected("queue_full")).isEqualTo(1);
+    }
+
+    @Test
+    void requestIsShedOnceTheWaitBudgetIsSpent() throws Exception {
+        AdmissionControlFilter filter = filter(Duration.ofMillis(50));
+        executor.submit(() -> checkout(filter, slowChain));
+        inFlight.await();
+
+        MockHttpServletResponse shed = checkout(filter, (request, response) -> { });
+
+        assertThat(shed.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(rejected("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void unmatchedRequestsAreNotLimited() throws Exception {
+        AdmissionControlFilter filter = filter(Duration.ofMillis(50));
+        executor.submit(() -> checkout(filter, slowChain));
+        inFlight.await();
+
+        // Payment webhooks and catalog reads pass while checkout is saturated
+        assertThat(send(filter, "POST", "/api/payments/webhook").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send(filter, "GET", "/api/orders/42").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send(filter, "GET", "/api/products").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private AdmissionControlFilter filter(Duration maxWait) {
+        AdmissionControlProperties.Endpoint checkout = new AdmissionControlProperties.Endpoint("checkout",
+            List.of("post", "PUT", "PATCH"), List.of("/api/orders/**", "/api/checkout/**"), 1, 1, maxWait,
+            Duration.ofSeconds(3));
+        return new AdmissionControlFilter(new AdmissionControlProperties(true, List.of(checkout)), meterRegistry);
+    }
+
+    private static MockHttpServletResponse checkout(AdmissionControlFilter filter, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String method, String uri)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, (request, ignored) -> { });
+        return response;
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queueDepth() != depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queueDepth()).isEqualTo(depth);
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("admission.queue.depth").tag("endpoint", "checkout").gauge().value();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("admission.rejected").tag("endpoint", "checkout").tag("reason", reason)
+            .counter().count();
+    }
+}
@@ -0,0 +1,128 @@
+package dev.joeis.lombriculturaedenshop.infrastructure.web;
+
+import dev.joeis.lombriculturaedenshop.application.service.CatalogSnapshot.SnapshotFile;
+import dev.joeis.lombriculturaedenshop.infrastructure.web.PrecompressedFileResponder.Encoding;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecompressedFileResponderTest {
+
+    private static final SnapshotFile ALL_VARIANTS = new SnapshotFile("page.json", "application/json", "abc", 10, 6, 4);
+    private static final SnapshotFile GZIP_ONLY = new SnapshotFile("page.json", "application/json", "abc", 10, 6, -1);
+    private static final SnapshotFile IDENTITY_ONLY = new SnapshotFile("page.json", "application/json", "abc", 10, -1, -1);
+
+    @TempDir
+    Path directory;
+
+    private PrecompressedFileResponder responder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        responder = new PrecompressedFileResponder(new SimpleMeterRegistry(), "public, max-age=60");
+        Files.writeString(directory.resolve("page.json"), "identity!!", StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("page.json.gz"), "gzip!!", StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("page.json.br"), "br!!", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void prefersBrotliOnEqualWeight() {
+        assertThat(PrecompressedFileResponder.negotiate("gzip, deflate, br", ALL_VARIANTS)).isEqualTo(Encoding.BROTLI);
+        assertThat(PrecompressedFileResponder.negotiate("br;q=0.5, gzip", ALL_VARIANTS)).isEqualTo(Encoding.GZIP);
+        assertThat(PrecompressedFileResponder.negotiate("gzip, br", GZIP_ONLY)).isEqualTo(Encoding.GZIP);
+    }
+
+    @Test
+    void honoursZeroQuality() {
+        assertThat(PrecompressedFileResponder.negotiate("br;q=0, gzip", ALL_VARIANTS)).isEqualTo(Encoding.GZIP);
+        assertThat(PrecompressedFileResponder.negotiate("br;q=0, *", ALL_VARIANTS)).isEqualTo(Encoding.GZIP);
+        assertThat(PrecompressedFileResponder.negotiate("gzip;Q=0", ALL_VARIANTS)).isEqualTo(Encoding.IDENTITY);
+        assertThat(PrecompressedFileResponder.negotiate("*;q=0", ALL_VARIANTS)).isEqualTo(Encoding.IDENTITY);
+    }
+
+    @Test
+    void wildcardCoversOnlyCodingsNotListed() {
+        assertThat(PrecompressedFileResponder.negotiate("*", ALL_VARIANTS)).isEqualTo(Encoding.BROTLI);
+        assertThat(PrecompressedFileResponder.negotiate("*", GZIP_ONLY)).isEqualTo(Encoding.GZIP);
+        // Neither "x-gzip" nor a coding that merely contains "br" names brotli
+        assertThat(PrecompressedFileResponder.negotiate("x-gzip;q=0.5, *", ALL_VARIANTS)).isEqualTo(Encoding.BROTLI);
+        assertThat(PrecompressedFileResponder.negotiate("x-brand, *;q=0.8", ALL_VARIANTS)).isEqualTo(Encoding.BROTLI);
+        assertThat(PrecompressedFileResponder.negotiate("x-gzip", GZIP_ONLY)).isEqualTo(Encoding.GZIP);
+    }
+
+    @Test
+    void fallsBackToIdentity() {
+        assertThat(PrecompressedFileResponder.negotiate(null, ALL_VARIANTS)).isEqualTo(Encoding.IDENTITY);
+        assertThat(PrecompressedFileResponder.negotiate("deflate", ALL_VARIANTS)).isEqualTo(Encoding.IDENTITY);
+        assertThat(PrecompressedFileResponder.negotiate("gzip, br", IDENTITY_ONLY)).isEqualTo(Encoding.IDENTITY);
+    }
+
+    @Test
+    void servesNegotiatedVariantWithItsOwnEtag() throws Exception {
+        MockHttpServletResponse response = serve(get("gzip, br"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc-br\"");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsString()).isEqualTo("br!!");
+
+        MockHttpServletResponse identity = serve(get(null));
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc\"");
+        assertThat(identity.getContentAsString()).isEqualTo("identity!!");
+    }
+
+    @Test
+    void answersNotModifiedOnlyForTheSameVariant() throws Exception {
+        MockHttpServletRequest revalidate = get("gzip");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"abc-gzip\"");
+        MockHttpServletResponse notModified = serve(revalidate);
+
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc-gzip\"");
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        // A brotli client revalidating a gzip ETag gets the brotli body
+        MockHttpServletRequest otherVariant = get("br");
+        otherVariant.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc-gzip\"");
+        MockHttpServletResponse full = serve(otherVariant);
+
+        assertThat(full.getStatus()).isEqualTo(200);
+        assertThat(full.getContentAsString()).isEqualTo("br!!");
+    }
+
+    @Test
+    void headSendsHeadersWithoutBody() throws Exception {
+        MockHttpServletRequest request = get("gzip");
+        request.setMethod("HEAD");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getContentLengthLong()).isEqualTo(6);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responder.serve(directory, ALL_VARIANTS, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/catalog/page.json");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+-- H2 version of the tables from src/main/resources/db/init.sql that repository tests use.
+-- JSONB columns become JSON and TEXT[] becomes a VARCHAR array.
+
+CREATE TABLE users (
+    id UUID PRIMARY KEY,
+    email VARCHAR(255) UNIQUE,
+    phone VARCHAR(50) UNIQUE,
+    password_hash VARCHAR(255),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    role VARCHAR(20) NOT NULL,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE products (
+    id UUID PRIMARY KEY,
+    seller_id UUID REFERENCES users(id),
+    sku VARCHAR(100),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(10000),
+    price DECIMAL(10, 2) NOT NULL,
+    stock INTEGER NOT NULL DEFAULT 0,
+    category VARCHAR(100),
+    image_urls VARCHAR(1000) ARRAY,
+    is_active BOOLEAN DEFAULT true,
+    is_featured BOOLEAN DEFAULT false,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_products_seller_sku UNIQUE (seller_id, sku)
+);
+
+CREATE TABLE orders (
+    id UUID PRIMARY KEY,
+    user_id UUID REFERENCES users(id),
+    guest_email VARCHAR(255),
+    guest_phone VARCHAR(50),
+    status VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    shipping_address JSON NOT NULL,
+    billing_address JSON,
+    notes VARCHAR(10000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE order_items (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    product_id UUID REFERENCES products(id),
+    quantity INTEGER NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    product_snapshot JSON,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE payments (
+    id UUID PRIMARY KEY,
+    order_id UUID,
+    stripe_payment_id VARCHAR(255) UNIQUE,
+    amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    payment_method VARCHAR(50),
+    metadata JSON,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE shipments (
+    id UUID PRIMARY KEY,
+    order_id UUID,
+    tracking_number VARCHAR(255),
+    carrier VARCHAR(100),
+    status VARCHAR(50),
+    estimated_delivery DATE,
+    actual_delivery TIMESTAMP,
+    shipping_cost DECIMAL(10, 2),
+    metadata JSON,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);